@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.text;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Benchmark of {@link Font#getWidth(int[])}, which looks up kerning offsets
+ * in a {@link KerningTable}, against the linear scan of
+ * {@link Glyph#getOffsetX(int)} that it replaced.
+ * <p>
+ * The corpus is the chat log in {@code chatlog.txt}, a hand-written
+ * courtroom session with in-character and out-of-character lines. The font covers
+ * printable ASCII with proportional widths, and is kerned with the pairs a
+ * typical pixel font defines: round and diagonal lowercase letters after
+ * {@code T V W Y}, punctuation after {@code r v w y}, quotes around
+ * {@code A} and {@code L} followed by diagonal capitals.
+ * <p>
+ * Both methods are warmed up before they are measured. Each round times one
+ * pass of each method, alternating which method runs first, and the median
+ * of all rounds is reported. The number of rounds can be passed as the
+ * first argument.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @since 1.0
+ */
+public class KerningBenchmark {
+
+    /**
+     * Name of the corpus resource, relative to this class.
+     */
+    public static final String CORPUS = "chatlog.txt";
+    /**
+     * Default number of measured rounds.
+     */
+    private static final int ROUNDS = 15;
+    /**
+     * Number of rounds that are run and discarded before measuring.
+     */
+    private static final int WARMUP_ROUNDS = 10;
+    /**
+     * Number of times the corpus is laid out in a single pass.
+     */
+    private static final int REPEAT = 200;
+    /**
+     * Height of the benchmark font.
+     */
+    private static final int HEIGHT = 12;
+
+    // written by every pass so the JIT cannot eliminate the measured code
+    private static long sink = 0L;
+
+    public static void main(final String[] args) throws IOException {
+        final int rounds = args.length > 0 ? Integer.parseInt(args[0]) : ROUNDS;
+        if (rounds <= 0)
+            throw new IllegalArgumentException("rounds must be greater than 0");
+
+        final Font font = createFont();
+        final int[][] corpus = loadCorpus(font);
+        long chars = 0L;
+        for (final int[] ids : corpus) {
+            chars += ids.length;
+            final int expected = linearWidth(font, ids);
+            final int actual = font.getWidth(ids);
+            if (expected != actual)
+                throw new IllegalStateException("width mismatch {expected=" + expected + ", actual=" + actual + "}");
+        }
+        chars *= REPEAT;
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += linearPass(font, corpus);
+            sink += tablePass(font, corpus);
+        }
+
+        final double[] linear = new double[rounds];
+        final double[] table = new double[rounds];
+        for (int i = 0; i < rounds; i++) {
+            long t0, t1, t2;
+            if ((i & 1) == 0) {
+                t0 = System.nanoTime();
+                sink += linearPass(font, corpus);
+                t1 = System.nanoTime();
+                sink += tablePass(font, corpus);
+                t2 = System.nanoTime();
+                linear[i] = (t1 - t0) / (double) chars;
+                table[i] = (t2 - t1) / (double) chars;
+            }
+            else {
+                t0 = System.nanoTime();
+                sink += tablePass(font, corpus);
+                t1 = System.nanoTime();
+                sink += linearPass(font, corpus);
+                t2 = System.nanoTime();
+                table[i] = (t1 - t0) / (double) chars;
+                linear[i] = (t2 - t1) / (double) chars;
+            }
+        }
+        Arrays.sort(linear);
+        Arrays.sort(table);
+
+        System.out.printf("corpus: %d lines, %d chars per pass, %d kerning pairs%n",
+                corpus.length, chars, font.kerning.size());
+        System.out.printf("linear scan:   median %5.2f ns/char (min %5.2f, max %5.2f)%n",
+                linear[rounds / 2], linear[0], linear[rounds - 1]);
+        System.out.printf("kerning table: median %5.2f ns/char (min %5.2f, max %5.2f)%n",
+                table[rounds / 2], table[0], table[rounds - 1]);
+        System.out.printf("speedup: %.2fx (checksum %d)%n", linear[rounds / 2] / table[rounds / 2], sink);
+    }
+
+    /**
+     * Creates a font with a glyph for each printable ASCII character.
+     */
+    @NotNull
+    static Font createFont() {
+        final Map<Character, List<Integer>> pairs = new HashMap<>();
+        // round and diagonal letters tucked under the arms of T V W Y
+        kern(pairs, "TVWY", "acegoqs", -2);
+        kern(pairs, "TVWY", "dmnpruvwxyz", -1);
+        kern(pairs, "FP", "aeo", -1);
+        kern(pairs, "FPTVWY", ".,", -2);
+        kern(pairs, "TVWY", "A", -1);
+        kern(pairs, "A", "TVWYtvwy'\"", -1);
+        kern(pairs, "L", "TVWY'\"", -2);
+        kern(pairs, "L", "y", -1);
+        kern(pairs, "rvwy", ".,", -1);
+        kern(pairs, "f", "aceo", -1);
+        kern(pairs, "k", "eo", -1);
+        kern(pairs, "'\"", "Aacdegoqs", -1);
+
+        final Glyph[] glyphs = new Glyph[127 - ' '];
+        for (int i = 0; i < glyphs.length; i++) {
+            final char c = (char) (' ' + i);
+            final int width = widthOf(c);
+            if (c == ' ')
+                glyphs[i] = new Glyph(width, c);
+            else {
+                final List<Integer> list = pairs.getOrDefault(c, List.of());
+                final int[] offsetX = new int[list.size()];
+                for (int j = 0; j < offsetX.length; j++)
+                    offsetX[j] = list.get(j);
+                glyphs[i] = new Glyph(false, width, HEIGHT, c, 0, offsetX, new byte[width * HEIGHT]);
+            }
+        }
+        return new Font("bench", HEIGHT, glyphs);
+    }
+
+    /**
+     * Adds an offset pair to each character in {@code right} for every
+     * preceding character in {@code left}.
+     */
+    private static void kern(@NotNull final Map<Character, List<Integer>> pairs, @NotNull final String left,
+            @NotNull final String right, final int offset) {
+        for (int i = 0; i < right.length(); i++) {
+            final List<Integer> list = pairs.computeIfAbsent(right.charAt(i), c -> new ArrayList<>());
+            for (int j = 0; j < left.length(); j++) {
+                list.add(left.charAt(j) - ' ');
+                list.add(offset);
+            }
+        }
+    }
+
+    /**
+     * Returns the lines of the corpus as glyph indices of the specified font.
+     */
+    @NotNull
+    static int[][] loadCorpus(@NotNull final Font font) throws IOException {
+        final InputStream in = KerningBenchmark.class.getResourceAsStream(CORPUS);
+        if (in == null)
+            throw new FileNotFoundException(CORPUS);
+        final List<int[]> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty())
+                    continue;
+                final int[] ids = font.getGlyphIndices(line);
+                for (int i = 0; i < ids.length; i++)
+                    if (ids[i] < 0)
+                        throw new IllegalStateException("corpus contains unsupported character {"
+                                + line.charAt(i) + "}");
+                lines.add(ids);
+            }
+        }
+        return lines.toArray(new int[0][]);
+    }
+
+    /**
+     * Returns the width of the specified glyphs, looking up kerning offsets
+     * with {@link Glyph#getOffsetX(int)}, as {@code Font} did before it used
+     * a {@link KerningTable}.
+     */
+    static int linearWidth(@NotNull final Font font, final int[] ids) {
+        int id0 = ids[0];
+        int width = font.glyphs[id0].width;
+        for (int i = 1, id1; i < ids.length; i++) {
+            id1 = ids[i];
+            final Glyph glyph = font.glyphs[id1];
+            width += glyph.getOffsetX(id0) + glyph.width;
+            id0 = id1;
+        }
+        return width;
+    }
+
+    private static long linearPass(@NotNull final Font font, final int[][] corpus) {
+        long sum = 0L;
+        for (int r = 0; r < REPEAT; r++)
+            for (final int[] ids : corpus)
+                sum += linearWidth(font, ids);
+        return sum;
+    }
+
+    private static long tablePass(@NotNull final Font font, final int[][] corpus) {
+        long sum = 0L;
+        for (int r = 0; r < REPEAT; r++)
+            for (final int[] ids : corpus)
+                sum += font.getWidth(ids);
+        return sum;
+    }
+
+    /**
+     * Returns the width in pixels of the glyph for the specified character,
+     * following the proportions of a small pixel font.
+     */
+    private static int widthOf(final char c) {
+        if ("il!.,:;'|".indexOf(c) != -1)
+            return 2;
+        if (" fjrtI()[]`\"".indexOf(c) != -1)
+            return 4;
+        if ("mwMW@%".indexOf(c) != -1)
+            return 8;
+        return 6;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.assets;
+
+import org.jetbrains.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Objects;
+
+import dk.martinu.ao.client.text.FontCodec;
+import dk.martinu.ao.client.ui.Theme;
+
+/**
+ * Kinds of assets that can be declared in an {@link AssetManifest} and
+ * loaded by an {@link AssetPreloader}.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @since 1.0
+ */
+public enum AssetKind {
+
+    /**
+     * A {@link dk.martinu.ao.client.text.Font Font} decoded from a
+     * {@code .font} file with {@link FontCodec#readFile(java.io.File)}. The
+     * source is a path relative to the manifest.
+     */
+    FONT {
+        @NotNull
+        @Override
+        Object load(@NotNull final String source, @NotNull final Path directory) throws IOException {
+            return FontCodec.readFile(directory.resolve(source).toFile());
+        }
+    },
+    /**
+     * A {@link Theme} parsed from a KoFi document with
+     * {@link Theme#readFrom(Path)}. The source is a path relative to the
+     * manifest.
+     */
+    THEME {
+        @NotNull
+        @Override
+        Object load(@NotNull final String source, @NotNull final Path directory) throws IOException {
+            return Theme.readFrom(directory.resolve(source));
+        }
+    },
+    /**
+     * An AWT {@link java.awt.Font Font}, created with
+     * {@link java.awt.Font#decode(String)}. The font is warmed up by
+     * measuring and drawing all printable ASCII characters offscreen, which
+     * initializes the font's metrics and the glyph cache of the Java2D
+     * pipeline. The source is a font specification, e.g.
+     * {@code "Arial BOLD 12"}.
+     */
+    AWT_FONT {
+        @NotNull
+        @Override
+        Object load(@NotNull final String source, @NotNull final Path directory) {
+            final java.awt.Font font = java.awt.Font.decode(source);
+            final BufferedImage image = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+            final Graphics2D g = image.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+                g.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+                g.setFont(font);
+                g.getFontMetrics().stringWidth(PRINTABLE_ASCII);
+                g.drawString(PRINTABLE_ASCII, 0, 0);
+            }
+            finally {
+                g.dispose();
+            }
+            return font;
+        }
+    };
+
+    /**
+     * String of all printable ASCII characters, used to warm up AWT fonts.
+     */
+    private static final String PRINTABLE_ASCII;
+
+    static {
+        final StringBuilder sb = new StringBuilder(95);
+        for (char c = ' '; c <= '~'; c++)
+            sb.append(c);
+        PRINTABLE_ASCII = sb.toString();
+    }
+
+    /**
+     * Returns the kind with the specified name (ignoring case), e.g.
+     * {@code "font"}.
+     *
+     * @param name the name of the kind
+     * @return the kind
+     * @throws NullPointerException     if {@code name} is {@code null}
+     * @throws IllegalArgumentException if there is no kind with the specified
+     *                                  name
+     * @see #getName()
+     */
+    @Contract(pure = true)
+    @NotNull
+    public static AssetKind forName(@NotNull final String name) {
+        Objects.requireNonNull(name, "name is null");
+        for (AssetKind kind : values())
+            if (kind.getName().equalsIgnoreCase(name))
+                return kind;
+        throw new IllegalArgumentException("unknown asset kind {" + name + "}");
+    }
+
+    /**
+     * Returns the name of this kind, which is the lower case name of the
+     * constant without underscores, e.g. {@code "awtfont"}.
+     */
+    @Contract(pure = true)
+    @NotNull
+    public String getName() {
+        return name().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Loads an asset of this kind from the specified source. This method is
+     * called by worker threads and must be threadsafe.
+     *
+     * @param source    the source of the asset
+     * @param directory the directory of the manifest, used to resolve
+     *                  relative paths
+     * @return the loaded asset
+     * @throws IOException if an error occurred when reading the asset
+     */
+    @NotNull
+    abstract Object load(@NotNull final String source, @NotNull final Path directory) throws IOException;
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.assets;
+
+import org.jetbrains.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+import dk.martinu.ao.client.targets.UITarget;
+import dk.martinu.ao.client.ui.DefaultDelegate;
+import dk.martinu.ao.client.util.Log;
+import dk.martinu.kofi.Document;
+import dk.martinu.kofi.Property;
+import dk.martinu.kofi.codecs.KofiCodec;
+
+/**
+ * A list of assets to load, read from a KoFi {@link Document}. Assets are
+ * declared as properties in the {@code [required]} and {@code [optional]}
+ * sections, where the key is the name of the asset and the value is the
+ * {@link AssetKind kind} and source of the asset, separated by a colon:
+ * <pre>
+ * [required]
+ * login = "theme:themes/login.kofi"
+ * ui = "awtfont:Arial BOLD 12"
+ *
+ * [optional]
+ * chat = "font:fonts/chat.font"
+ * </pre>
+ * Required assets must be loaded before the client leaves the intro, while
+ * optional assets can finish loading in the background.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @see AssetPreloader
+ * @since 1.0
+ */
+public final class AssetManifest {
+
+    /**
+     * Returns a manifest of the default assets, for when no manifest is
+     * configured. It declares the {@link DefaultDelegate#DEFAULT_FONT default
+     * font} of {@link DefaultDelegate} as the required
+     * {@link UITarget#ASSET_FONT} asset. There is no default theme.
+     */
+    @Contract(value = "-> new", pure = true)
+    @NotNull
+    public static AssetManifest getDefault() {
+        return new AssetManifest(Path.of(""), List.of(
+                new Entry(UITarget.ASSET_FONT, AssetKind.AWT_FONT, DefaultDelegate.DEFAULT_FONT, true)));
+    }
+
+    /**
+     * Reads a manifest from the KoFi document file at the specified path.
+     * Relative paths of assets are resolved against the directory of the
+     * file. Invalid assets are logged and skipped.
+     *
+     * @param path the path to read from
+     * @return a manifest
+     * @throws NullPointerException if {@code path} is {@code null}
+     * @throws IOException          if an error occurred when reading from the
+     *                              path
+     */
+    @Contract(value = "_ -> new", pure = true)
+    @NotNull
+    public static AssetManifest readFrom(@NotNull final Path path) throws IOException {
+        Objects.requireNonNull(path, "path is null");
+        final Document doc = KofiCodec.provider().readFile(path);
+        final Path directory = path.toAbsolutePath().getParent();
+        final ArrayList<Entry> entries = new ArrayList<>();
+        addEntries(entries, doc, "required", true);
+        addEntries(entries, doc, "optional", false);
+        return new AssetManifest(directory != null ? directory : Path.of(""), entries);
+    }
+
+    /**
+     * Adds an entry for each property in the specified section of a manifest
+     * document.
+     */
+    private static void addEntries(@NotNull final List<Entry> entries, @NotNull final Document doc,
+            @NotNull final String section, final boolean required) {
+        final List<Property<String>> properties = doc.getProperties(section, String.class);
+        if (properties != null)
+            for (Property<String> property : properties) {
+                final String value = String.valueOf(property.value);
+                final int colon = value.indexOf(':');
+                if (colon == -1) {
+                    Log.w("asset has no kind [%s=%s]", property.key, value);
+                    continue;
+                }
+                try {
+                    final AssetKind kind = AssetKind.forName(value.substring(0, colon).trim());
+                    entries.add(new Entry(property.key, kind, value.substring(colon + 1).trim(), required));
+                }
+                catch (final IllegalArgumentException e) {
+                    Log.w("invalid asset [%s=%s]", e, property.key, value);
+                }
+            }
+    }
+
+    /**
+     * The directory of the manifest file.
+     */
+    @NotNull
+    final Path directory;
+    /**
+     * Unmodifiable list of declared assets.
+     */
+    @NotNull
+    final List<Entry> entries;
+
+    /**
+     * Constructs a new manifest.
+     *
+     * @param directory directory to resolve relative paths against
+     * @param entries   the declared assets
+     * @throws NullPointerException if {@code directory} or {@code entries}
+     *                              is {@code null}
+     */
+    AssetManifest(@NotNull final Path directory, @NotNull final List<Entry> entries) {
+        this.directory = Objects.requireNonNull(directory, "directory is null");
+        this.entries = List.copyOf(Objects.requireNonNull(entries, "entries is null"));
+    }
+
+    /**
+     * Returns the declaration of the asset with the specified name, or
+     * {@code null} if this manifest does not declare it.
+     */
+    @Contract(pure = true)
+    @Nullable
+    Entry getEntry(@NotNull final String name) {
+        for (Entry entry : entries)
+            if (entry.name.equals(name))
+                return entry;
+        return null;
+    }
+
+    /**
+     * Returns the number of assets declared in this manifest.
+     */
+    @Contract(pure = true)
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Declaration of a single asset.
+     */
+    static final class Entry {
+
+        /**
+         * The name of the asset.
+         */
+        @NotNull
+        final String name;
+        /**
+         * The kind of asset.
+         */
+        @NotNull
+        final AssetKind kind;
+        /**
+         * The source to load the asset from.
+         */
+        @NotNull
+        final String source;
+        /**
+         * {@code true} if the asset must be loaded before the client leaves
+         * the intro.
+         */
+        final boolean required;
+
+        Entry(@NotNull final String name, @NotNull final AssetKind kind, @NotNull final String source,
+                final boolean required) {
+            this.name = Objects.requireNonNull(name, "name is null");
+            this.kind = Objects.requireNonNull(kind, "kind is null");
+            this.source = Objects.requireNonNull(source, "source is null");
+            this.required = required;
+        }
+    }
+}
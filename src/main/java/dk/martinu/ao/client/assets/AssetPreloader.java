@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.assets;
+
+import org.jetbrains.annotations.*;
+
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import dk.martinu.ao.client.util.Log;
+
+import static java.lang.System.nanoTime;
+
+/**
+ * Loads the assets declared in an {@link AssetManifest} on a pool of worker
+ * threads, e.g. while the intro plays, and holds on to them so the first
+ * screens do not pay for parsing themes and warming up AWT fonts on the game
+ * thread. Targets get their assets with {@link #getOrLoad(String, Class)}.
+ * <p>
+ * Progress is published without locking and can be polled every tick with
+ * {@link #getProgress()} and {@link #isReady()}. Assets that fail to load are
+ * logged and counted, but do not block readiness; targets must handle
+ * missing assets, i.e. {@link #get(String, Class)} returning {@code null}.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @see dk.martinu.ao.client.targets.Intro
+ * @since 1.0
+ */
+public final class AssetPreloader {
+
+    /**
+     * Returns the default number of worker threads, which leaves one
+     * processor for the game thread.
+     */
+    @Contract(pure = true)
+    private static int getDefaultThreads() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    }
+
+    /**
+     * The manifest of assets to load.
+     */
+    @NotNull
+    private final AssetManifest manifest;
+    /**
+     * Maximum number of worker threads.
+     */
+    private final int threads;
+    /**
+     * Loaded assets mapped to their names.
+     */
+    @NotNull
+    private final ConcurrentHashMap<String, Object> assets = new ConcurrentHashMap<>();
+    /**
+     * Counted down when a required asset has finished loading, successfully
+     * or not.
+     */
+    @NotNull
+    private final CountDownLatch required;
+    /**
+     * Counted down when any asset has finished loading, successfully or not.
+     */
+    @NotNull
+    private final CountDownLatch all;
+    /**
+     * Number of assets that have finished loading, successfully or not.
+     */
+    @NotNull
+    private final AtomicInteger completed = new AtomicInteger();
+    /**
+     * Number of assets that failed to load.
+     */
+    @NotNull
+    private final AtomicInteger failed = new AtomicInteger();
+    /**
+     * Timestamp of when loading started.
+     */
+    private volatile long startNanos;
+    /**
+     * {@code true} if {@link #start()} has been called.
+     */
+    private boolean started = false;
+
+    /**
+     * Constructs a new preloader for the specified manifest, with one worker
+     * thread less than the number of available processors.
+     *
+     * @throws NullPointerException if {@code manifest} is {@code null}
+     */
+    public AssetPreloader(@NotNull final AssetManifest manifest) {
+        this(manifest, getDefaultThreads());
+    }
+
+    /**
+     * Constructs a new preloader for the specified manifest.
+     *
+     * @param manifest the manifest of assets to load
+     * @param threads  the maximum number of worker threads
+     * @throws NullPointerException     if {@code manifest} is {@code null}
+     * @throws IllegalArgumentException if {@code threads} is less than
+     *                                  {@code 1}
+     */
+    public AssetPreloader(@NotNull final AssetManifest manifest, final int threads) {
+        this.manifest = Objects.requireNonNull(manifest, "manifest is null");
+        if (threads < 1)
+            throw new IllegalArgumentException("threads must be greater than 0");
+        this.threads = threads;
+        int count = 0;
+        for (AssetManifest.Entry entry : manifest.entries)
+            if (entry.required)
+                count++;
+        required = new CountDownLatch(count);
+        all = new CountDownLatch(manifest.size());
+    }
+
+    /**
+     * Blocks until all assets have finished loading.
+     *
+     * @throws InterruptedException if the current thread is interrupted while
+     *                              waiting
+     * @see #isDone()
+     */
+    public void awaitDone() throws InterruptedException {
+        all.await();
+    }
+
+    /**
+     * Blocks until all required assets have finished loading.
+     *
+     * @throws InterruptedException if the current thread is interrupted while
+     *                              waiting
+     * @see #isReady()
+     */
+    public void awaitReady() throws InterruptedException {
+        required.await();
+    }
+
+    /**
+     * Returns the asset with the specified name, or {@code null} if it has not
+     * been loaded (yet), failed to load, or is not an instance of the
+     * specified type.
+     *
+     * @param name the name of the asset
+     * @param type the type of the asset
+     * @return the asset, or {@code null}
+     * @throws NullPointerException if {@code name} or {@code type} is
+     *                              {@code null}
+     */
+    @Contract(pure = true)
+    @Nullable
+    public <T> T get(@NotNull final String name, @NotNull final Class<T> type) {
+        Objects.requireNonNull(name, "name is null");
+        Objects.requireNonNull(type, "type is null");
+        final Object asset = assets.get(name);
+        return type.isInstance(asset) ? type.cast(asset) : null;
+    }
+
+    /**
+     * Returns the asset with the specified name. If the asset has not been
+     * loaded yet, it is loaded synchronously on the calling thread. Returns
+     * {@code null} if the asset is not declared in the manifest, fails to
+     * load, or is not an instance of the specified type.
+     *
+     * @param name the name of the asset
+     * @param type the type of the asset
+     * @return the asset, or {@code null}
+     * @throws NullPointerException if {@code name} or {@code type} is
+     *                              {@code null}
+     * @see dk.martinu.ao.client.targets.AbstractTarget#getAsset(String, Class)
+     */
+    @Nullable
+    public <T> T getOrLoad(@NotNull final String name, @NotNull final Class<T> type) {
+        final T asset = get(name, type);
+        if (asset != null || assets.containsKey(name))
+            return asset;
+        final AssetManifest.Entry entry = manifest.getEntry(name);
+        if (entry == null)
+            return null;
+        final long start = nanoTime();
+        try {
+            final Object loaded = entry.kind.load(entry.source, manifest.directory);
+            assets.putIfAbsent(name, loaded);
+            Log.w("loaded %s asset [%s] synchronously in %d ms", entry.kind.getName(), name,
+                    (nanoTime() - start) / 1_000_000L);
+            return get(name, type);
+        }
+        catch (final Exception e) {
+            Log.e("could not load %s asset [%s=%s]", e, entry.kind.getName(), entry.name, entry.source);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the number of assets that failed to load.
+     */
+    @Contract(pure = true)
+    public int getFailedCount() {
+        return failed.get();
+    }
+
+    /**
+     * Returns the fraction of assets that have finished loading, between
+     * {@code 0.0} and {@code 1.0}.
+     */
+    @Contract(pure = true)
+    public float getProgress() {
+        final int size = manifest.size();
+        return size != 0 ? completed.get() / (float) size : 1.0F;
+    }
+
+    /**
+     * Returns {@code true} if all assets have finished loading, successfully
+     * or not.
+     */
+    @Contract(pure = true)
+    public boolean isDone() {
+        return all.getCount() == 0L;
+    }
+
+    /**
+     * Returns {@code true} if all required assets have finished loading,
+     * successfully or not.
+     *
+     * @see #awaitReady()
+     */
+    @Contract(pure = true)
+    public boolean isReady() {
+        return required.getCount() == 0L;
+    }
+
+    /**
+     * Starts loading all assets on a pool of daemon worker threads. Required
+     * assets are loaded before optional assets. The pool is shut down when
+     * all assets have finished loading.
+     *
+     * @throws IllegalStateException if this preloader has already been
+     *                               started
+     */
+    public synchronized void start() {
+        if (started)
+            throw new IllegalStateException("preloader has already been started");
+        started = true;
+        startNanos = nanoTime();
+        if (manifest.size() == 0)
+            return;
+
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, manifest.size()), r -> {
+            final Thread thread = new Thread(r, "AssetPreloader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            // leave room for the game thread
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+        for (AssetManifest.Entry entry : manifest.entries)
+            if (entry.required)
+                executor.execute(() -> load(entry));
+        for (AssetManifest.Entry entry : manifest.entries)
+            if (!entry.required)
+                executor.execute(() -> load(entry));
+        // queued loads still run
+        executor.shutdown();
+    }
+
+    /**
+     * Loads the specified asset and publishes it.
+     */
+    private void load(@NotNull final AssetManifest.Entry entry) {
+        final long start = nanoTime();
+        try {
+            // the asset might have been loaded synchronously already
+            assets.putIfAbsent(entry.name, entry.kind.load(entry.source, manifest.directory));
+            Log.i("loaded %s asset [%s] in %d ms", entry.kind.getName(), entry.name,
+                    (nanoTime() - start) / 1_000_000L);
+        }
+        catch (final Exception e) {
+            failed.incrementAndGet();
+            Log.e("could not load %s asset [%s=%s]", e, entry.kind.getName(), entry.name, entry.source);
+        }
+        finally {
+            if (entry.required)
+                required.countDown();
+            if (completed.incrementAndGet() == manifest.size())
+                Log.i("preloaded %d assets in %d ms (%d failed)", manifest.size(),
+                        (nanoTime() - startNanos) / 1_000_000L, failed.get());
+            all.countDown();
+        }
+    }
+}
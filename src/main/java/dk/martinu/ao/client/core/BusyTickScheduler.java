@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.core;
+
+import static java.lang.System.nanoTime;
+
+/**
+ * Tick scheduler that spin-waits until a deadline has passed.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @see TickScheduler#busy()
+ * @since 1.0
+ */
+final class BusyTickScheduler implements TickScheduler {
+
+    /**
+     * Shared instance; the scheduler is stateless.
+     */
+    static final BusyTickScheduler INSTANCE = new BusyTickScheduler();
+
+    private BusyTickScheduler() { }
+
+    @Override
+    public void awaitDeadline(final long deadline) {
+        while (nanoTime() - deadline < 0L)
+            Thread.onSpinWait();
+    }
+
+    @Override
+    public String toString() {
+        return "busy";
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.core;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+import dk.martinu.ao.client.util.Log;
+import dk.martinu.ao.client.util.QualityProfile;
+
+/**
+ * Adaptive quality governor of a {@link GameThread}. The governor watches
+ * the time spent painting each frame in windows of {@value #WINDOW} frames,
+ * and steps the {@link QualityProfile quality profile} down if too many
+ * frames exceed the frame budget, and back up after several consecutive
+ * windows with plenty of headroom, never above the
+ * {@link GameThread#getMaxQualityProfile() maximum quality}.
+ * <p>
+ * <b>NOTE:</b> this implementation is not threadsafe, and must only be
+ * updated by the thread that paints frames.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @see GameThread#setAdaptiveQuality(boolean)
+ * @since 1.0
+ */
+final class FrameGovernor {
+
+    /**
+     * Number of frames in a window.
+     */
+    static final int WINDOW = 60;
+    /**
+     * Fraction of the budget a frame must exceed to count as over budget.
+     */
+    static final double OVER_BUDGET = 0.9;
+    /**
+     * Fraction of the budget a frame must not exceed to count as having
+     * headroom.
+     */
+    static final double HEADROOM = 0.5;
+    /**
+     * Number of frames in a window that must be over budget to step down.
+     */
+    static final int STEP_DOWN_FRAMES = WINDOW / 10;
+    /**
+     * Number of consecutive windows with headroom required to step up.
+     */
+    static final int STEP_UP_WINDOWS = 5;
+
+    /**
+     * The game thread whose quality profile is adjusted.
+     */
+    @NotNull
+    private final GameThread thread;
+    /**
+     * Number of frames in the current window.
+     */
+    private int frames = 0;
+    /**
+     * Number of frames in the current window that were over budget.
+     */
+    private int overBudget = 0;
+    /**
+     * Number of frames in the current window without headroom.
+     */
+    private int busy = 0;
+    /**
+     * Number of consecutive windows where all frames had headroom.
+     */
+    private int headroomWindows = 0;
+
+    /**
+     * Constructs a new governor of the specified thread.
+     *
+     * @throws NullPointerException if {@code thread} is {@code null}
+     */
+    FrameGovernor(@NotNull final GameThread thread) {
+        this.thread = Objects.requireNonNull(thread, "thread is null");
+    }
+
+    /**
+     * Resets the current window, e.g. after the frame budget changed.
+     */
+    void reset() {
+        frames = 0;
+        overBudget = 0;
+        busy = 0;
+        headroomWindows = 0;
+    }
+
+    /**
+     * Updates this governor with the time spent painting a frame.
+     *
+     * @param nanos  time spent painting in nanoseconds
+     * @param budget the frame budget in nanoseconds
+     */
+    void update(final long nanos, final long budget) {
+        frames++;
+        if (nanos > budget * OVER_BUDGET)
+            overBudget++;
+        if (nanos > budget * HEADROOM)
+            busy++;
+        if (frames < WINDOW)
+            return;
+
+        final QualityProfile profile = thread.getQualityProfile();
+        if (overBudget >= STEP_DOWN_FRAMES) {
+            headroomWindows = 0;
+            final QualityProfile lower = profile.getLower();
+            if (lower != null) {
+                Log.i("frames over budget [%d/%d], stepping quality down to [%s]", overBudget, frames,
+                        lower.getName());
+                thread.adjustQualityProfile(lower);
+            }
+        }
+        else if (busy == 0) {
+            if (++headroomWindows >= STEP_UP_WINDOWS) {
+                headroomWindows = 0;
+                final QualityProfile higher = profile.getHigher();
+                if (higher != null && higher.compareTo(thread.getMaxQualityProfile()) <= 0) {
+                    Log.i("frames within budget, stepping quality up to [%s]", higher.getName());
+                    thread.adjustQualityProfile(higher);
+                }
+            }
+        }
+        else
+            headroomWindows = 0;
+
+        frames = 0;
+        overBudget = 0;
+        busy = 0;
+    }
+}
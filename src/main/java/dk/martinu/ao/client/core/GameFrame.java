@@ -39,11 +39,20 @@ final class GameFrame extends Frame {
     public static final int MINIMUM_HEIGHT = 600;
 
     /**
-     * The current resolution of this frame. Changes whenever the frame is
-     * resized.
+     * The current resolution of this frame. Only updated by the game thread
+     * after construction.
+     *
+     * @see #updateResolution()
      */
     @NotNull
-    volatile Resolution resolution;
+    private volatile Resolution resolution;
+    /**
+     * Set when this frame is resized, and cleared when the resolution is
+     * updated. Resize events are coalesced, such that the resolution is
+     * updated at most once per logic tick, no matter how many events are
+     * fired while the window is dragged.
+     */
+    private volatile boolean resized = false;
     /**
      * The game thread that owns this frame.
      */
@@ -74,7 +83,7 @@ final class GameFrame extends Frame {
         super(config);
         this.thread = Objects.requireNonNull(thread, "thread must not be null");
         init();
-        resolution = new Resolution(this);
+        resolution = createResolution();
     }
 
     /**
@@ -116,6 +125,28 @@ final class GameFrame extends Frame {
         return getBufferStrategy();
     }
 
+    /**
+     * Creates and returns a new buffer strategy with the specified amount of
+     * buffers and capabilities.
+     *
+     * @param buffers number of buffers to create
+     * @param caps    the required capabilities
+     * @return a new buffer strategy
+     * @throws AWTException             if the capabilities are not supported
+     * @throws IllegalArgumentException if {@code buffers} is less than
+     *                                  {@code 1}, or {@code caps} is
+     *                                  {@code null}
+     * @throws IllegalStateException    if this frame is not displayable
+     * @see #createBufferStrategy(int, BufferCapabilities)
+     */
+    @Contract("_, _ -> new")
+    @NotNull
+    BufferStrategy getNewBufferStrategy(final int buffers, @NotNull final BufferCapabilities caps)
+            throws AWTException {
+        createBufferStrategy(buffers, caps);
+        return getBufferStrategy();
+    }
+
     /**
      * Shuts down this frame if it has not already been shut down.
      * <p>
@@ -142,6 +173,35 @@ final class GameFrame extends Frame {
             });
     }
 
+    /**
+     * Returns the current resolution of this frame, without updating it.
+     *
+     * @see #updateResolution()
+     */
+    @Contract(pure = true)
+    @NotNull
+    Resolution getResolution() {
+        return resolution;
+    }
+
+    /**
+     * Returns the resolution of this frame, which is updated if the frame has
+     * been resized since this method was last called. A new resolution is
+     * only created if the size or insets of the frame changed.
+     * <p>
+     * <b>NOTE:</b> this method must only be called by the game thread.
+     */
+    @NotNull
+    Resolution updateResolution() {
+        if (resized) {
+            resized = false;
+            final Resolution r = createResolution();
+            if (!r.equals(resolution))
+                resolution = r;
+        }
+        return resolution;
+    }
+
     /**
      * Updates/Initializes the cursor position on the frame by firing a
      * synthetic mouse moved event. If the cursor is not over the frame, then
@@ -160,6 +220,19 @@ final class GameFrame extends Frame {
                     0, 0, 0, 0, false));
     }
 
+    /**
+     * Creates a new resolution from the current size of this frame. If a
+     * logical resolution is configured, it is scaled to fit this frame.
+     *
+     * @see GraphicsSettings#logicalResolution
+     */
+    @Contract(value = "-> new", pure = true)
+    @NotNull
+    private Resolution createResolution() {
+        final Resolution logical = thread.graphics.logicalResolution;
+        return logical != null ? new Resolution(this, logical.width, logical.height) : new Resolution(this);
+    }
+
     /**
      * Initializes this frame.
      */
@@ -167,28 +240,44 @@ final class GameFrame extends Frame {
         addComponentListener(new ComponentAdapter() {
             @Override
             public void componentResized(final ComponentEvent event) {
-                resolution = new Resolution(GameFrame.this);
+                resized = true;
             }
         });
-        addWindowListener(new WindowAdapter() {
+        final WindowAdapter adapter = new WindowAdapter() {
 
             @Override
             public void windowClosing(final WindowEvent event) {
                 dispose();
             }
 
+            @Override
+            public void windowDeiconified(final WindowEvent event) {
+                thread.setIconified(false);
+            }
+
             @Override
             public void windowGainedFocus(final WindowEvent event) {
+                thread.setBackground(false);
                 if (thread.isPaused())
                     thread.setPaused(false);
             }
 
+            @Override
+            public void windowIconified(final WindowEvent event) {
+                thread.setIconified(true);
+            }
+
             @Override
             public void windowLostFocus(final WindowEvent event) {
                 if (thread.isPauseOnFocusLost())
                     thread.setPaused(true);
+                else
+                    thread.setBackground(true);
             }
-        });
+        };
+        addWindowListener(adapter);
+        // focus events are not fired to window listeners
+        addWindowFocusListener(adapter);
         {
 			/*
 			final Toolkit toolkit = Toolkit.getDefaultToolkit();
@@ -16,48 +16,233 @@
  */
 package dk.martinu.ao.client.core;
 
-import org.jetbrains.annotations.Contract;
-import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.*;
 
 import java.awt.*;
 import java.awt.image.BufferStrategy;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
 
+import javax.management.ObjectName;
+
+import dk.martinu.ao.client.assets.AssetPreloader;
+import dk.martinu.ao.client.event.InputRecorder;
+import dk.martinu.ao.client.event.InputReplay;
+import dk.martinu.ao.client.jfr.*;
 import dk.martinu.ao.client.util.Log;
-import dk.martinu.ao.client.util.ZUtil;
+import dk.martinu.ao.client.util.QualityProfile;
+import dk.martinu.ao.client.targets.RenderState;
 import dk.martinu.ao.client.targets.Target;
 import dk.martinu.ao.client.util.Resolution;
+import dk.martinu.ao.client.util.TripleBuffer;
 import dk.martinu.kofi.Document;
 
-import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
 
-// TODO would it make sense to move tps into ThreadTarget? different targets
-//  might have different tps
 public final class GameThread extends Thread {
 
     public static final int DEFAULT_TICKS_PER_SECOND = 100;
+    public static final int DEFAULT_MAX_CATCH_UP_TICKS = 5;
+    public static final int DEFAULT_BACKGROUND_TICKS_PER_SECOND = 10;
 
-    @NotNull
+    /**
+     * The frame that is painted into, or {@code null} in headless mode.
+     */
+    @Nullable
     final GameFrame frame;
+    @NotNull
+    final GraphicsSettings graphics;
     private volatile boolean shutdown = false;
     private Target target;
-    private int ticksPerSecond;
-    // how much time that must pass between logic ticks
-    private long logicTickMs;
-    private boolean paused = false;
+    // prepared target to switch to at the next tick, or null
+    @NotNull
+    private final AtomicReference<Target> pendingTarget = new AtomicReference<>();
+    // executor that prepares targets, created when first needed
+    @Nullable
+    private ExecutorService targetPreparer = null;
+    // tick rate used for targets that do not declare their own
+    private int defaultTicksPerSecond;
+    // tick rate that takes precedence over the rate of any target, 0 if unset
+    private int ticksPerSecondOverride = 0;
+    // tick rate of the current target
+    private volatile int ticksPerSecond;
+    // how much time in nanoseconds that must pass between logic ticks
+    private volatile long logicTickNanos;
+    @NotNull
+    private volatile TickScheduler tickScheduler = TickScheduler.hybrid();
+    // frame rate used for targets that do not declare their own
+    private int defaultFramesPerSecond = 0;
+    // frame rate of the current target
+    private volatile int framesPerSecond = 0;
+    // minimum time in nanoseconds between frames painted by the render thread
+    private volatile long frameNanos = 0L;
+    private boolean separateRenderThread = false;
+    private volatile boolean paused = false;
     private boolean pauseOnFocusLost = false;
-    private boolean printPerformance = true;
+    // highest tick rate while the frame is unfocused or iconified, 0 if unlimited
+    private int backgroundTicksPerSecond = DEFAULT_BACKGROUND_TICKS_PER_SECOND;
+    // true if the frame does not have focus
+    private boolean background = false;
+    // true if the frame is iconified, no frames are painted
+    private volatile boolean iconified = false;
+    // true if the next frame must be repainted entirely
+    private volatile boolean repaint = false;
+    private volatile boolean printPerformance = true;
+    // maximum number of logic ticks to perform back to back when behind
+    private volatile int maxCatchUpTicks = DEFAULT_MAX_CATCH_UP_TICKS;
+    // number of logic ticks performed, only written by this thread
+    private volatile long tickCount = 0L;
+    // records input events reaching the frame, or null if not recording
+    @Nullable
+    private InputRecorder inputRecorder = null;
+    // replays recorded input events, or null if not replaying
+    @Nullable
+    private InputReplay inputReplay = null;
+    // marks logic ticks for the watchdog, only written by this thread
+    @NotNull
+    private final TickWatchdog.Probe logicProbe = new TickWatchdog.Probe();
+    // marks painting and presenting for the watchdog, only written when painting
+    @NotNull
+    private final TickWatchdog.Probe paintProbe = new TickWatchdog.Probe();
+    // time in nanoseconds a phase can run before the watchdog reports it, 0 if disabled
+    private long watchdogThresholdNanos = 0L;
+    // number of logic ticks dropped when behind, only written by this thread
+    private volatile long droppedTicks = 0L;
+    // number of frames skipped when behind, only written by the painting thread
+    private volatile long skippedFrames = 0L;
+    // number of frames shown, only written by the painting thread
+    private volatile long frameCount = 0L;
+    // quality profile that frames are currently painted with
+    @NotNull
+    private volatile QualityProfile qualityProfile;
+    // highest quality profile the governor can step up to
+    @NotNull
+    private volatile QualityProfile maxQualityProfile;
+    private volatile boolean adaptiveQuality;
+    @NotNull
+    private final FrameGovernor governor = new FrameGovernor(this);
+    @NotNull
+    private final Performance performance = new Performance();
+    // true if the back buffer retains its contents after being shown
+    private boolean retainedBackBuffer = false;
+    // damaged region of the current frame, only accessed when painting
+    @NotNull
+    private final Rectangle damage = new Rectangle();
+    // target and resolution of the previous frame, only accessed when painting
+    private Target paintedTarget = null;
+    private Resolution paintedResolution = null;
+    // true until the first frame is shown, only accessed when painting
+    private boolean firstFrame = true;
+    // assets shared by targets, or null if there are none
+    @Nullable
+    private volatile AssetPreloader assets = null;
+    // description of the buffer strategy, or null if it is not created yet
+    @Nullable
+    private volatile String bufferStrategyDescription = null;
 
     public GameThread(@NotNull final Document config) {
+        this(config, false);
+    }
+
+    /**
+     * Constructs a new thread. If {@code headless} is {@code true}, frames
+     * are painted into offscreen images regardless of the configuration.
+     */
+    GameThread(@NotNull final Document config, final boolean headless) {
         Objects.requireNonNull(config, "config is null");
-        frame = new GameFrame(this, null); // TODO create graphics config from kofi config
+        graphics = GraphicsSettings.read(config);
+        if (headless)
+            graphics.headless = Boolean.TRUE;
+        qualityProfile = maxQualityProfile = graphics.quality;
+        adaptiveQuality = graphics.adaptiveQuality;
+        frame = graphics.isHeadless() ? null : new GameFrame(this, graphics.getGraphicsConfiguration());
         setTicksPerSecond(DEFAULT_TICKS_PER_SECOND);
     }
 
+    /**
+     * Returns the preloader holding assets shared by targets, or {@code null}
+     * if no assets are preloaded.
+     *
+     * @see #setAssets(AssetPreloader)
+     */
+    @Contract(pure = true)
+    @Nullable
+    public AssetPreloader getAssets() {
+        return assets;
+    }
+
+    /**
+     * Returns the highest tick rate while the frame does not have focus, or
+     * {@code 0} if the tick rate is not throttled in the background.
+     *
+     * @see #setBackgroundTicksPerSecond(int)
+     */
+    @Contract(pure = true)
+    public synchronized int getBackgroundTicksPerSecond() {
+        return backgroundTicksPerSecond;
+    }
+
+    /**
+     * Returns the default tick rate, used for targets that do not declare
+     * their own.
+     *
+     * @see #setTicksPerSecond(int)
+     */
+    @Contract(pure = true)
+    public synchronized int getDefaultTicksPerSecond() {
+        return defaultTicksPerSecond;
+    }
+
+    /**
+     * Returns the number of logic ticks that have been dropped because this
+     * thread fell too far behind to catch up on them.
+     *
+     * @see #setMaxCatchUpTicks(int)
+     */
+    @Contract(pure = true)
+    public long getDroppedTicks() {
+        return droppedTicks;
+    }
+
+    /**
+     * Returns the number of frames this thread, or its render thread, has
+     * shown. In headless mode, frames that were skipped because nothing
+     * changed are also counted, since they are still completed.
+     */
+    @Contract(pure = true)
+    public long getFrameCount() {
+        return frameCount;
+    }
+
     public long getLogicTickMs() {
-        return logicTickMs;
+        return logicTickNanos / 1_000_000L;
+    }
+
+    public long getLogicTickNanos() {
+        return logicTickNanos;
+    }
+
+    /**
+     * Returns the maximum number of logic ticks performed back to back,
+     * without painting, when this thread is behind.
+     *
+     * @see #setMaxCatchUpTicks(int)
+     */
+    @Contract(pure = true)
+    public int getMaxCatchUpTicks() {
+        return maxCatchUpTicks;
+    }
+
+    /**
+     * Returns the number of frames that have been skipped because logic or
+     * painting fell behind. When painting after every tick, this is the
+     * number of ticks that were caught up on without painting; otherwise it
+     * is the number of frame intervals that passed without a frame.
+     */
+    @Contract(pure = true)
+    public long getSkippedFrames() {
+        return skippedFrames;
     }
 
     @Contract(pure = true)
@@ -68,10 +253,135 @@ public final class GameThread extends Thread {
         return target;
     }
 
+    @Contract(pure = true)
+    @NotNull
+    public TickScheduler getTickScheduler() {
+        return tickScheduler;
+    }
+
+    /**
+     * Returns the frame rate of the current target.
+     *
+     * @see Target#getFramesPerSecond()
+     */
+    public int getFramesPerSecond() {
+        return framesPerSecond;
+    }
+
+    /**
+     * Returns a snapshot of the most recent performance window, which has
+     * percentiles of the time spent in logic, paint and present.
+     */
+    @Contract(value = "-> new", pure = true)
+    @NotNull
+    public PerformanceSnapshot getPerformance() {
+        return performance.snapshot();
+    }
+
+    /**
+     * Returns the highest quality profile that frames are painted with. If
+     * {@link #isAdaptiveQuality() adaptive quality} is disabled, this is the
+     * same as {@link #getQualityProfile()}.
+     */
+    @Contract(pure = true)
+    @NotNull
+    public QualityProfile getMaxQualityProfile() {
+        return maxQualityProfile;
+    }
+
+    /**
+     * Returns the quality profile that frames are currently painted with.
+     *
+     * @see QualityProfile#of(Graphics2D)
+     */
+    @Contract(pure = true)
+    @NotNull
+    public QualityProfile getQualityProfile() {
+        return qualityProfile;
+    }
+
+    /**
+     * Returns the number of logic ticks this thread has performed.
+     */
+    @Contract(pure = true)
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Returns the current resolution of the frame, or the configured
+     * resolution of offscreen images in headless mode. Unlike the resolution
+     * passed to targets, this does not apply pending resize events, and can
+     * be called by any thread.
+     */
+    @Contract(pure = true)
+    @NotNull
+    public Resolution getResolution() {
+        return frame != null ? frame.getResolution() : graphics.headlessResolution;
+    }
+
+    /**
+     * Returns the tick rate of the current target.
+     *
+     * @see Target#getTicksPerSecond()
+     */
     public int getTicksPerSecond() {
         return ticksPerSecond;
     }
 
+    /**
+     * Returns the tick rate that is used regardless of the rate declared by
+     * the current target, or {@code 0} if the rate is not overridden.
+     *
+     * @see #setTicksPerSecondOverride(int)
+     */
+    @Contract(pure = true)
+    public synchronized int getTicksPerSecondOverride() {
+        return ticksPerSecondOverride;
+    }
+
+    /**
+     * Returns {@code true} if the quality profile is adjusted automatically
+     * to keep painting within the frame budget.
+     *
+     * @see #setAdaptiveQuality(boolean)
+     */
+    @Contract(pure = true)
+    public boolean isAdaptiveQuality() {
+        return adaptiveQuality;
+    }
+
+    /**
+     * Returns {@code true} if the frame does not have focus, in which case
+     * the tick rate is throttled.
+     *
+     * @see #setBackgroundTicksPerSecond(int)
+     */
+    @Contract(pure = true)
+    public synchronized boolean isBackground() {
+        return background;
+    }
+
+    /**
+     * Returns {@code true} if this thread paints into offscreen images instead
+     * of a window.
+     *
+     * @see GraphicsSettings
+     */
+    @Contract(pure = true)
+    public boolean isHeadless() {
+        return frame == null;
+    }
+
+    /**
+     * Returns {@code true} if the frame is iconified, in which case no frames
+     * are painted.
+     */
+    @Contract(pure = true)
+    public boolean isIconified() {
+        return iconified;
+    }
+
     @Contract(pure = true)
     public boolean isPauseOnFocusLost() {
         return pauseOnFocusLost;
@@ -82,6 +392,11 @@ public final class GameThread extends Thread {
         return paused;
     }
 
+    @Contract(pure = true)
+    public boolean isSeparateRenderThread() {
+        return separateRenderThread;
+    }
+
     @Contract(pure = true)
     public boolean isShutdown() {
         return shutdown;
@@ -89,131 +404,608 @@ public final class GameThread extends Thread {
 
     @Override
     public void run() {
-        frame.setVisible(true);
-        try {
-            // tiny spool-up to let AWT/Swing initialize
-            Thread.sleep(100);
+        StartupTimeline.mark("launch");
+        final ObjectName mxBeanName = GameThreadManagement.register(this);
+        final BufferStrategy bs;
+        // offscreen buffer strategy, or null if painting into the frame
+        final ImageBufferStrategy images;
+        if (frame != null) {
+            frame.setVisible(true);
+            try {
+                // tiny spool-up to let AWT/Swing initialize
+                Thread.sleep(100);
+            }
+            catch (InterruptedException ignored) {
+            }
+
+            bs = graphics.createBufferStrategy(frame);
+            if (bs == null) {
+                Log.e("cannot create buffer strategy");
+                throw new RuntimeException("cannot create buffer strategy");
+            }
+            images = null;
         }
-        catch (InterruptedException ignored) {
+        else {
+            bs = images = graphics.createImageBufferStrategy();
+            if (graphics.headlessHash && printPerformance)
+                Log.w("performance is printed, headless frame hashes are not reproducible");
         }
+        graphics.report(frame, bs);
+        bufferStrategyDescription = graphics.describe(bs);
+        StartupTimeline.mark("buffer strategy");
+        final BufferCapabilities caps = bs.getCapabilities();
+        retainedBackBuffer = !caps.isPageFlipping()
+                || caps.getFlipContents() == BufferCapabilities.FlipContents.COPIED;
 
-        // TODO experiment more with different buffer counts and VSYNC
-        final BufferStrategy bs = frame.getNewBufferStrategy(2);
-        if (bs == null) {
-            Log.e("cannot create buffer strategy");
-            throw new RuntimeException("cannot create buffer strategy");
+        // snapshots for the render thread, or null if painting on this thread
+        final TripleBuffer<RenderSnapshot> snapshots;
+        final RenderThread renderThread;
+        // snapshot painted on this thread if there is no render thread
+        final RenderSnapshot snapshot;
+        if (separateRenderThread) {
+            snapshots = new TripleBuffer<>(RenderSnapshot::new);
+            renderThread = new RenderThread(this, bs, snapshots);
+            snapshot = null;
+            renderThread.start();
+        }
+        else {
+            snapshots = null;
+            renderThread = null;
+            snapshot = new RenderSnapshot();
         }
+        if (watchdogThresholdNanos > 0L)
+            new TickWatchdog(this, watchdogThresholdNanos, logicProbe, paintProbe).start();
 
         Target target;
         Resolution r;
-        Graphics2D g;
-        long time = 0L;
-        long timeOld;
-        long timeNew;
-        long delta;
-        long logicTickMs;
+        // deadline of the next logic tick
+        long deadline;
+        // deadline of the next frame if painting on this thread at a fixed rate
+        long frameDeadline;
+        long tickNanos;
+        long frameNanos;
+        // number of logic ticks performed in the current iteration
+        int ticks;
+        long dropped;
 
         long timestamp;
-        final Performance performance = new Performance();
 
-        timeOld = currentTimeMillis();
-        // TODO maybe separate logic() and paint()
+        deadline = frameDeadline = nanoTime();
         while (!isShutdown()) {
 
-            while (paused) {
-                timestamp = currentTimeMillis();
-                synchronized (this) {
-                    try {
-                        wait();
-                    }
-                    catch (InterruptedException e) {
-                        e.printStackTrace();
+            timestamp = awaitUnpaused();
+            deadline += timestamp;
+            frameDeadline += timestamp;
+
+            // painting on this thread at a fixed rate needs a second deadline
+            frameNanos = snapshot != null ? getFrameNanos() : 0L;
+            if (!tickScheduler.isPaced())
+                // perform one tick and paint one frame, as fast as possible
+                deadline = frameDeadline = nanoTime();
+            else if (frameNanos > 0L && frameDeadline - deadline < 0L)
+                tickScheduler.awaitDeadline(frameDeadline);
+            else
+                tickScheduler.awaitDeadline(deadline);
+            // waiting ends early when interrupted, which is treated as a shutdown
+            if (Thread.interrupted()) {
+                Log.w("game thread interrupted, shutting down");
+                shutdown();
+                continue;
+            }
+
+            ticks = 0;
+            while (nanoTime() - deadline >= 0L) {
+
+                target = getTarget();
+                r = updateResolution();
+                tickNanos = getLogicTickNanos();
+                // the frame has been laid out by now, unlike when recording began
+                if (inputRecorder != null && tickCount == 0L)
+                    inputRecorder.writeHeader(r.width, r.height);
+
+                // logic timestamp
+                final LogicTickEvent tickEvent = new LogicTickEvent();
+                tickEvent.begin();
+                timestamp = nanoTime();
+                logicProbe.begin("logic", target);
+                if (inputReplay != null)
+                    inputReplay.dispatch(tickCount, target);
+                target.logic(r);
+                logicProbe.end();
+                performance.logic.record(timestamp, nanoTime());
+                tickCount++;
+                tickEvent.end();
+                if (tickEvent.shouldCommit()) {
+                    tickEvent.target = target.getClass().getName();
+                    tickEvent.ticksPerSecond = ticksPerSecond;
+                    tickEvent.catchUp = ticks;
+                    tickEvent.commit();
+                }
+
+                if (snapshots != null) {
+                    snapshots.getWriteSlot().write(target, r, deadline, tickNanos);
+                    snapshots.publish();
+                }
+                else
+                    snapshot.write(target, r, deadline, tickNanos);
+
+                ticks++;
+
+                // switch to a target that finished preparing in the background
+                final Target prepared = pendingTarget.getAndSet(null);
+                if (prepared != null)
+                    setTarget(prepared);
+                // start the timeline of a new target at its own rate
+                if (getTarget() != target) {
+                    deadline = frameDeadline = nanoTime();
+                    break;
+                }
+                // fixed timestep; a late tick does not move later deadlines
+                deadline += tickNanos;
+                // catch up on missed ticks without painting, up to a limit
+                if (ticks >= maxCatchUpTicks && (timestamp = nanoTime()) - deadline >= 0L) {
+                    // drop the remaining backlog, keeping deadlines in phase
+                    dropped = (timestamp - deadline) / tickNanos + 1L;
+                    droppedTicks += dropped;
+                    deadline += dropped * tickNanos;
+                    break;
+                }
+            }
+
+            // nothing is visible while iconified, do not wait for frames
+            if (iconified)
+                frameDeadline = deadline;
+            else if (snapshot != null && snapshot.target != null) {
+                // paint after every tick, except ticks that were caught up on
+                if (frameNanos == 0L) {
+                    if (ticks > 0)
+                        paintFrame(bs, snapshot, 1.0F);
+                    addSkippedFrames(ticks - 1);
+                }
+                // paint at a fixed rate, interpolated between ticks
+                else if ((timestamp = nanoTime()) - frameDeadline >= 0L) {
+                    paintFrame(bs, snapshot, snapshot.alpha(timestamp));
+                    frameDeadline += frameNanos;
+                    // do not try to catch up on missed frames
+                    if ((timestamp = nanoTime()) - frameDeadline > 0L) {
+                        addSkippedFrames((timestamp - frameDeadline) / frameNanos);
+                        frameDeadline = timestamp;
                     }
                 }
-                timeOld += currentTimeMillis() - timestamp;
             }
 
-            timeNew = currentTimeMillis();
-            delta = timeNew - timeOld;
-            time += delta;
+            if (images != null && images.isComplete())
+                shutdown();
+            else if (inputReplay != null && inputReplay.isDone()) {
+                Log.i("replayed %d input events in %d ticks", inputReplay.getEventCount(), tickCount);
+                shutdown();
+            }
+        }
 
-            logicTickMs = getLogicTickMs();
-            if (time >= logicTickMs) {
+        if (renderThread != null)
+            try {
+                renderThread.join();
+            }
+            catch (InterruptedException e) {
+                e.printStackTrace();
+            }
+        synchronized (this) {
+            if (targetPreparer != null)
+                targetPreparer.shutdownNow();
+        }
+        GameThreadManagement.unregister(mxBeanName);
+        if (inputRecorder != null)
+            inputRecorder.close();
+        if (frame != null)
+            frame.shutdown();
+        else
+            bs.dispose();
+    }
 
-                target = getTarget();
-                r = frame.resolution;
+    /**
+     * Adds to the number of skipped frames. Must only be called by the thread
+     * that paints frames.
+     */
+    void addSkippedFrames(final long n) {
+        if (n > 0L)
+            skippedFrames += n;
+    }
 
-                if (printPerformance) {
-                    // logic timestamp
-                    timestamp = currentTimeMillis();
-                    target.logic(r);
-                    performance.addLogic(currentTimeMillis() - timestamp);
+    /**
+     * Sets the quality profile that frames are painted with, without changing
+     * the maximum quality profile. Used by the {@link FrameGovernor}.
+     */
+    void adjustQualityProfile(@NotNull final QualityProfile qualityProfile) {
+        this.qualityProfile = qualityProfile;
+    }
+
+    /**
+     * Blocks the calling thread while this thread is paused.
+     *
+     * @return the amount of time in nanoseconds the calling thread was
+     * blocked
+     */
+    long awaitUnpaused() {
+        if (!paused)
+            return 0L;
+        final long timestamp = nanoTime();
+        synchronized (this) {
+            while (paused)
+                try {
+                    wait();
+                }
+                catch (InterruptedException e) {
+                    e.printStackTrace();
+                }
+        }
+        return nanoTime() - timestamp;
+    }
+
+    /**
+     * Returns a description of the buffer strategy that frames are painted
+     * with, or {@code null} if it has not been created yet.
+     */
+    @Nullable
+    String getBufferStrategyDescription() {
+        return bufferStrategyDescription;
+    }
+
+    /**
+     * Returns the minimum amount of time in nanoseconds between frames painted
+     * by the render thread, or {@code 0} if the frame rate is not capped.
+     */
+    long getFrameNanos() {
+        return frameNanos;
+    }
+
+    /**
+     * Returns the current target, or {@code null} if it has not been set.
+     */
+    @Nullable
+    synchronized Target peekTarget() {
+        return target;
+    }
+
+    /**
+     * Sets whether the frame has lost focus, and throttles or restores the
+     * tick rate accordingly. A restored tick rate takes effect from the next
+     * tick, which is at most one background tick away. Called by the frame.
+     *
+     * @see #setBackgroundTicksPerSecond(int)
+     */
+    synchronized void setBackground(final boolean b) {
+        if (background != b) {
+            background = b;
+            updateRates();
+        }
+    }
+
+    /**
+     * Sets whether the frame is iconified. No frames are painted while
+     * iconified, and the first frame afterwards is repainted entirely. Called
+     * by the frame.
+     */
+    void setIconified(final boolean b) {
+        if (iconified && !b)
+            repaint = true;
+        iconified = b;
+    }
+
+    /**
+     * Returns the current resolution of the frame, or the configured
+     * resolution of offscreen images in headless mode. Resize events are
+     * coalesced, so the resolution changes at most once per call. Must only be
+     * called by this thread, once per logic tick.
+     */
+    @NotNull
+    Resolution updateResolution() {
+        return frame != null ? frame.updateResolution() : graphics.headlessResolution;
+    }
+
+    /**
+     * Paints and shows a single frame of the specified snapshot using the
+     * specified buffer strategy. If the back buffer retains its contents,
+     * then only the region {@link Target#collectDamage(Rectangle, Resolution)
+     * damaged} by the target is repainted, and the frame is skipped if
+     * nothing is damaged.
+     *
+     * @param bs       the buffer strategy
+     * @param snapshot the snapshot to paint
+     * @param alpha    the interpolation factor
+     * @return {@code true} if the frame was painted, {@code false} if it was
+     * skipped
+     */
+    boolean paintFrame(@NotNull final BufferStrategy bs, @NotNull final RenderSnapshot snapshot, final float alpha) {
+        final Target target = snapshot.target;
+        final Resolution r = snapshot.resolution;
+
+        // collect damage even if repainting everything, to clear it
+        final boolean damaged = target.collectDamage(damage, r);
+        final boolean overlay = printPerformance && performance.isOutdated();
+        // true if only the damaged region is repainted
+        boolean partial = retainedBackBuffer && target == paintedTarget && r == paintedResolution;
+        if (repaint) {
+            repaint = false;
+            partial = false;
+        }
+        if (partial && !damaged && !overlay) {
+            // headless frames are counted, dumped and hashed even if unchanged
+            if (frame == null) {
+                bs.show();
+                frameCount++;
+            }
+            return false;
+        }
+        // the frame budget changes with the target
+        if (target != paintedTarget)
+            governor.reset();
+        paintedTarget = target;
+        paintedResolution = r;
+
+        final QualityProfile profile = qualityProfile;
+        final float interpolation = profile.isInterpolated() ? alpha : 1.0F;
+        Graphics2D g;
+        long timestamp;
+        long paintEnd;
+        boolean clipped;
+        paint:
+        do {
+            do {
+                try {
+                    g = (Graphics2D) bs.getDrawGraphics();
+                }
+                catch (final Exception e) {
+                    Log.w("could not get buffer graphics", e);
+                    break paint;
+                }
+
+                // initialize graphics context
+                profile.apply(g);
+                g.setComposite(AlphaComposite.SrcOver);
+                g.setColor(Color.BLACK);
+                // clear the borders around a scaled resolution
+                if (r.scale != 1.0F && !partial && frame != null)
+                    g.fillRect(0, 0, frame.getWidth(), frame.getHeight());
+                g.translate(r.offsetX, r.offsetY);
+                if (r.scale != 1.0F)
+                    g.scale(r.scale, r.scale);
+                g.setClip(0, 0, r.width, r.height);
+                clipped = partial;
+                if (partial) {
+                    if (overlay)
+                        performance.addBounds(g, r, damage, damaged);
+                    g.clipRect(damage.x, damage.y, damage.width, damage.height);
+                    g.fillRect(damage.x, damage.y, damage.width, damage.height);
+                    // repaint everything if contents are restored or lost
+                    partial = false;
                 }
                 else
-                    target.logic(r);
-
-                paint:
-                do {
-                    do {
-                        try {
-                            g = (Graphics2D) bs.getDrawGraphics();
-                        }
-                        catch (final Exception e) {
-                            Log.w("could not get buffer graphics", e);
-                            break paint;
-                        }
-
-                        // TEST is it necessary to do this every time getDrawGraphics() is called?
-                        // initialize graphics context
-                        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-                        g.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);
-                        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-                        g.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
-                        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-                        g.setComposite(AlphaComposite.SrcOver);
-                        g.setColor(Color.BLACK);
-                        g.translate(r.offsetX, r.offsetY);
-                        g.setClip(0, 0, r.width, r.height);
-                        g.fillRect(0, 0, r.width, r.height);
-
-                        if (printPerformance) {
-                            // TODO why is this necessary?
-                            // create a copy of the graphics object to ensure performance is printed correctly
-                            final Graphics2D copy = (Graphics2D) g.create();
-                            // paint timestamp
-                            timestamp = currentTimeMillis();
-                            target.paint(copy, r);
-                            copy.dispose();
-                            performance.addPaint(currentTimeMillis() - timestamp);
-                            performance.paint(g, r);
-                        }
-                        else
-                            target.paint(g, r);
-
-                        g.dispose();
-                    }
-                    while (bs.contentsRestored());
+                    g.fillRect(0, 0, r.width, r.height);
 
-                    // show buffer content in try-catch clause
-                    // for information see bug note B0001
-                    try {
-                        bs.show();
-                    }
-                    catch (final Exception e) {
-                        Log.w("could not show buffer", e);
-                        break;
-                    }
+                // paint timestamp
+                final PaintEvent paintEvent = new PaintEvent();
+                paintEvent.begin();
+                timestamp = nanoTime();
+                paintProbe.begin("paint", target);
+                if (printPerformance) {
+                    // TODO why is this necessary?
+                    // create a copy of the graphics object to ensure performance is printed correctly
+                    final Graphics2D copy = (Graphics2D) g.create();
+                    paintTarget(copy, snapshot, interpolation);
+                    copy.dispose();
+                    paintEnd = nanoTime();
+                    performance.paint(g, r);
+                }
+                else {
+                    paintTarget(g, snapshot, interpolation);
+                    paintEnd = nanoTime();
+                }
+                paintProbe.end();
+                performance.paint.record(timestamp, paintEnd);
+                paintEvent.end();
+                if (paintEvent.shouldCommit()) {
+                    paintEvent.target = target.getClass().getName();
+                    paintEvent.quality = profile.getName();
+                    // partial has been cleared for retries
+                    paintEvent.partial = clipped;
+                    paintEvent.interpolation = interpolation;
+                    paintEvent.commit();
+                }
+                if (adaptiveQuality)
+                    governor.update(paintEnd - timestamp, frameNanos > 0L ? frameNanos : logicTickNanos);
+
+                g.dispose();
+            }
+            while (contentsRestored(bs));
+
+            // show buffer content in try-catch clause
+            // for information see bug note B0001
+            try {
+                // present timestamp
+                final PresentEvent presentEvent = new PresentEvent();
+                presentEvent.begin();
+                timestamp = nanoTime();
+                paintProbe.begin("show", target);
+                bs.show();
+                paintProbe.end();
+                performance.present.record(timestamp, nanoTime());
+                presentEvent.commit();
+                if (firstFrame) {
+                    firstFrame = false;
+                    StartupTimeline.report("first frame");
                 }
-                while (bs.contentsLost());
-                time -= logicTickMs;
             }
-            if (printPerformance)
-                performance.update(delta);
-            timeOld = timeNew;
+            catch (final Exception e) {
+                paintProbe.end();
+                Log.w("could not show buffer", e);
+                break;
+            }
         }
+        while (contentsLost(bs));
+        frameCount++;
+        return true;
+    }
 
-        frame.shutdown();
+    /**
+     * Returns {@code true} if the contents of the specified buffer strategy
+     * were lost after being shown, and records a flight recorder event.
+     */
+    private static boolean contentsLost(@NotNull final BufferStrategy bs) {
+        if (!bs.contentsLost())
+            return false;
+        final BufferContentsLostEvent event = new BufferContentsLostEvent();
+        if (event.shouldCommit()) {
+            event.restored = false;
+            event.commit();
+        }
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if the contents of the specified buffer strategy
+     * were restored while painting, and records a flight recorder event.
+     */
+    private static boolean contentsRestored(@NotNull final BufferStrategy bs) {
+        if (!bs.contentsRestored())
+            return false;
+        final BufferContentsLostEvent event = new BufferContentsLostEvent();
+        if (event.shouldCommit()) {
+            event.restored = true;
+            event.commit();
+        }
+        return true;
+    }
+
+    /**
+     * Paints the target of the specified snapshot, using its render state if
+     * it has one.
+     */
+    private void paintTarget(@NotNull final Graphics2D g, @NotNull final RenderSnapshot snapshot, final float alpha) {
+        if (snapshot.state != null)
+            snapshot.target.paint(g, snapshot.resolution, snapshot.state, alpha);
+        else
+            snapshot.target.paint(g, snapshot.resolution);
+    }
+
+    /**
+     * Prepares the specified target on a background thread, by calling
+     * {@link Target#prepare(Resolution)} with the current resolution. Targets
+     * are prepared one at a time, in the order this method is called. The
+     * returned future completes with the target when it is prepared, or
+     * exceptionally if preparing it failed.
+     * <p>
+     * The target must not be set, or be reachable from the current target,
+     * until the returned future has completed.
+     *
+     * @param target the target to prepare
+     * @param <T>    the type of target
+     * @return a future that completes when the target is prepared
+     * @throws NullPointerException if {@code target} is {@code null}
+     * @see #setTargetWhenReady(Target)
+     */
+    @NotNull
+    public synchronized <T extends Target> CompletableFuture<T> prepareTarget(@NotNull final T target) {
+        Objects.requireNonNull(target, "target is null");
+        if (targetPreparer == null)
+            targetPreparer = Executors.newSingleThreadExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "TargetPreparer");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.NORM_PRIORITY - 1);
+                return thread;
+            });
+        return CompletableFuture.supplyAsync(() -> {
+            final long timestamp = nanoTime();
+            target.prepare(getResolution());
+            Log.d("prepared target %s in %d ms", target.getClass().getName(),
+                    (nanoTime() - timestamp) / 1_000_000L);
+            return target;
+        }, targetPreparer);
+    }
+
+    /**
+     * Sets the preloader holding assets shared by targets. The intro does not
+     * hand off to the next target until all required assets are loaded.
+     *
+     * @param assets the preloader, or {@code null}
+     * @return this thread
+     */
+    @Contract("_ -> this")
+    @NotNull
+    public GameThread setAssets(@Nullable final AssetPreloader assets) {
+        this.assets = assets;
+        return this;
+    }
+
+    /**
+     * Sets the recorder that records input events reaching the frame. The
+     * recorder is added as a listener to the frame immediately, and must be
+     * set before the first target so that events are recorded before targets
+     * buffer them. The recorder is closed when this thread terminates.
+     *
+     * @param recorder the recorder
+     * @return this thread
+     * @throws NullPointerException  if {@code recorder} is {@code null}
+     * @throws IllegalStateException if this thread is headless, has already
+     *                               been started or already has a recorder
+     */
+    @Contract("_ -> this")
+    @NotNull
+    public synchronized GameThread setInputRecorder(@NotNull final InputRecorder recorder) {
+        Objects.requireNonNull(recorder, "recorder is null");
+        if (frame == null)
+            throw new IllegalStateException("cannot record input in headless mode");
+        if (getState() != State.NEW || inputRecorder != null)
+            throw new IllegalStateException("input recorder cannot be set");
+        inputRecorder = recorder;
+        frame.addKeyListener(recorder);
+        frame.addMouseListener(recorder);
+        frame.addMouseMotionListener(recorder);
+        frame.addMouseWheelListener(recorder);
+        return this;
+    }
+
+    /**
+     * Sets the replay of recorded input events to dispatch to targets, at the
+     * start of the ticks they were recorded before. This thread shuts down
+     * when all events have been dispatched.
+     *
+     * @param replay the replay
+     * @return this thread
+     * @throws NullPointerException  if {@code replay} is {@code null}
+     * @throws IllegalStateException if this thread has already been started
+     */
+    @Contract("_ -> this")
+    @NotNull
+    public synchronized GameThread setInputReplay(@NotNull final InputReplay replay) {
+        Objects.requireNonNull(replay, "replay is null");
+        if (getState() != State.NEW)
+            throw new IllegalStateException("thread has already been started");
+        inputReplay = replay;
+        return this;
+    }
+
+    /**
+     * Sets the highest tick rate while the frame does not have focus or is
+     * iconified. Logic keeps running in the background, e.g. to stay
+     * connected, but at a fraction of the cost. Frames painted at a fixed
+     * rate are throttled likewise, and no frames are painted while the frame
+     * is iconified. Has no effect if the thread pauses when focus is lost.
+     *
+     * @param ticksPerSecond the background tick rate, or {@code 0} to not
+     *                       throttle the tick rate
+     * @return this thread
+     * @throws IllegalArgumentException if {@code ticksPerSecond} is less than
+     *                                  {@code 0}
+     * @see #setPauseOnFocusLost(boolean)
+     */
+    @Contract("_ -> this")
+    @NotNull
+    public synchronized GameThread setBackgroundTicksPerSecond(final int ticksPerSecond) {
+        if (ticksPerSecond < 0)
+            throw new IllegalArgumentException("ticksPerSecond is less than 0");
+        backgroundTicksPerSecond = ticksPerSecond;
+        updateRates();
+        return this;
     }
 
     @Contract("_ -> this")
@@ -227,10 +1019,93 @@ public final class GameThread extends Thread {
         paused = b;
         if (!paused)
             synchronized (this) {
-                notify();
+                // wake up both the game thread and the render thread
+                notifyAll();
             }
     }
 
+    /**
+     * Sets the default frame rate, used for targets that do not declare their
+     * own. If {@code 0}, a frame is painted after every logic tick when
+     * painting on this thread, or as fast as the buffer strategy allows when
+     * painting on a {@link #setSeparateRenderThread(boolean) separate thread}
+     * (the display rate if vertical synchronization is enabled).
+     *
+     * @param framesPerSecond the frame rate, or {@code 0}
+     * @return this thread
+     * @throws IllegalArgumentException if {@code framesPerSecond} is less than
+     *                                  {@code 0}
+     * @see Target#getFramesPerSecond()
+     */
+    @Contract("_ -> this")
+    @NotNull
+    public synchronized GameThread setFramesPerSecond(final int framesPerSecond) {
+        if (framesPerSecond < 0)
+            throw new IllegalArgumentException("framesPerSecond is less than 0");
+        defaultFramesPerSecond = framesPerSecond;
+        updateRates();
+        return this;
+    }
+
+    /**
+     * Enables or disables adaptive quality. If enabled, the quality profile
+     * is stepped down when painting exceeds the frame budget, and back up to
+     * the {@link #getMaxQualityProfile() maximum quality} when there is
+     * headroom. If disabled, the maximum quality profile is restored.
+     *
+     * @param b {@code true} to enable adaptive quality
+     * @return this thread
+     * @see FrameGovernor
+     */
+    @Contract("_ -> this")
+    @NotNull
+    public GameThread setAdaptiveQuality(final boolean b) {
+        adaptiveQuality = b;
+        if (!b)
+            qualityProfile = maxQualityProfile;
+        return this;
+    }
+
+    /**
+     * Sets the quality profile that frames are painted with. Takes effect
+     * from the next frame. If {@link #isAdaptiveQuality() adaptive quality}
+     * is enabled, then the profile is also the highest quality the governor
+     * can step up to.
+     *
+     * @param qualityProfile the quality profile
+     * @return this thread
+     * @throws NullPointerException if {@code qualityProfile} is {@code null}
+     */
+    @Contract("_ -> this")
+    @NotNull
+    public GameThread setQualityProfile(@NotNull final QualityProfile qualityProfile) {
+        Objects.requireNonNull(qualityProfile, "qualityProfile is null");
+        this.qualityProfile = maxQualityProfile = qualityProfile;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of logic ticks to perform back to back, without
+     * painting, when this thread is behind schedule, e.g. after a slow frame.
+     * If still behind after that many ticks, the remaining backlog is dropped
+     * and the simulation continues from the current time.
+     *
+     * @param maxCatchUpTicks the maximum number of ticks
+     * @return this thread
+     * @throws IllegalArgumentException if {@code maxCatchUpTicks} is less than
+     *                                  {@code 1}
+     * @see #getDroppedTicks()
+     * @see #getSkippedFrames()
+     */
+    @Contract("_ -> this")
+    @NotNull
+    public GameThread setMaxCatchUpTicks(final int maxCatchUpTicks) {
+        if (maxCatchUpTicks < 1)
+            throw new IllegalArgumentException("maxCatchUpTicks must be greater than 0");
+        this.maxCatchUpTicks = maxCatchUpTicks;
+        return this;
+    }
+
     @Contract("_ -> this")
     @NotNull
     public GameThread setPrintPerformance(final boolean b) {
@@ -238,36 +1113,165 @@ public final class GameThread extends Thread {
         return this;
     }
 
+    /**
+     * Enables or disables painting on a separate render thread. If enabled,
+     * this thread only runs logic at a fixed tick rate and publishes a
+     * {@link RenderState render state} snapshot of the target after each
+     * tick, which the render thread paints with an interpolation factor.
+     * Must be called before this thread is started.
+     *
+     * @param b {@code true} to paint on a separate thread
+     * @return this thread
+     * @throws IllegalStateException if this thread has already been started
+     * @see Target#createRenderState()
+     * @see #setFramesPerSecond(int)
+     */
+    @Contract("_ -> this")
+    @NotNull
+    public GameThread setSeparateRenderThread(final boolean b) {
+        if (getState() != State.NEW)
+            throw new IllegalStateException("thread has already been started");
+        separateRenderThread = b;
+        return this;
+    }
+
     @Contract("_ -> this")
     @NotNull
     public synchronized GameThread setTarget(@NotNull final Target target) {
-        // need null pointer check, target is initially null
-        if (this.target != null) {
-            frame.removeKeyListener(this.target);
-            frame.removeMouseListener(this.target);
-            frame.removeMouseMotionListener(this.target);
-            frame.removeMouseWheelListener(this.target);
+        // no input in headless mode
+        if (frame != null) {
+            // need null pointer check, target is initially null
+            if (this.target != null) {
+                frame.removeKeyListener(this.target);
+                frame.removeMouseListener(this.target);
+                frame.removeMouseMotionListener(this.target);
+                frame.removeMouseWheelListener(this.target);
+            }
+
+            frame.addKeyListener(target);
+            frame.addMouseListener(target);
+            frame.addMouseMotionListener(target);
+            frame.addMouseWheelListener(target);
+            // update cursor position programmatically to
+            // initialize mouse data without cursor input
+            frame.updateCursorPosition();
         }
 
-        frame.addKeyListener(target);
-        frame.addMouseListener(target);
-        frame.addMouseMotionListener(target);
-        frame.addMouseWheelListener(target);
-        // update cursor position programmatically to
-        // initialize mouse data without cursor input
-        frame.updateCursorPosition();
+        final TargetSwitchEvent event = new TargetSwitchEvent();
+        if (event.shouldCommit()) {
+            event.previous = this.target != null ? this.target.getClass().getName() : null;
+            event.target = target.getClass().getName();
+            event.commit();
+        }
 
         this.target = target;
+        updateRates();
+        return this;
+    }
+
+    /**
+     * Prepares the specified target on a background thread, and switches to
+     * it at the first tick after it is prepared. The current target keeps
+     * running in the meantime, so the switch does not stall. If preparing the
+     * target fails, the failure is logged and the target is switched to
+     * anyway.
+     *
+     * @param target the target to switch to
+     * @param <T>    the type of target
+     * @return a future that completes when the target is prepared, before it
+     * is switched to
+     * @throws NullPointerException if {@code target} is {@code null}
+     * @see #prepareTarget(Target)
+     */
+    @NotNull
+    public <T extends Target> CompletableFuture<T> setTargetWhenReady(@NotNull final T target) {
+        return prepareTarget(target).whenComplete((t, throwable) -> {
+            if (throwable != null)
+                Log.e("could not prepare target [%s]", throwable, target.getClass().getName());
+            pendingTarget.set(target);
+        });
+    }
+
+    /**
+     * Sets the scheduler used to wait for the deadline of each logic tick.
+     *
+     * @param tickScheduler the scheduler
+     * @return this thread
+     * @throws NullPointerException if {@code tickScheduler} is {@code null}
+     * @see TickScheduler#busy()
+     * @see TickScheduler#hybrid()
+     */
+    @Contract("_ -> this")
+    @NotNull
+    public GameThread setTickScheduler(@NotNull final TickScheduler tickScheduler) {
+        this.tickScheduler = Objects.requireNonNull(tickScheduler, "tickScheduler is null");
         return this;
     }
 
+    /**
+     * Sets the default tick rate, used for targets that do not declare their
+     * own.
+     *
+     * @param ticksPerSecond the tick rate
+     * @return this thread
+     * @throws IllegalArgumentException if {@code ticksPerSecond} is less than
+     *                                  or equal to {@code 0}
+     * @see Target#getTicksPerSecond()
+     */
     @Contract("_ -> this")
     @NotNull
-    public GameThread setTicksPerSecond(final int ticksPerSecond) {
+    public synchronized GameThread setTicksPerSecond(final int ticksPerSecond) {
         if (ticksPerSecond <= 0)
             throw new IllegalArgumentException("ticksPerSecond must be greater than 0");
-        this.ticksPerSecond = ticksPerSecond;
-        logicTickMs = 1000L / ticksPerSecond;
+        defaultTicksPerSecond = ticksPerSecond;
+        updateRates();
+        return this;
+    }
+
+    /**
+     * Sets a tick rate that takes precedence over the rate declared by any
+     * target and the default tick rate, e.g. to tune the tick rate at
+     * runtime. The rate is still throttled in the background.
+     *
+     * @param ticksPerSecond the tick rate, or {@code 0} to use the rate of
+     *                       the current target again
+     * @return this thread
+     * @throws IllegalArgumentException if {@code ticksPerSecond} is less than
+     *                                  {@code 0}
+     * @see #setTicksPerSecond(int)
+     */
+    @Contract("_ -> this")
+    @NotNull
+    public synchronized GameThread setTicksPerSecondOverride(final int ticksPerSecond) {
+        if (ticksPerSecond < 0)
+            throw new IllegalArgumentException("ticksPerSecond is less than 0");
+        ticksPerSecondOverride = ticksPerSecond;
+        updateRates();
+        return this;
+    }
+
+    /**
+     * Sets the threshold of the watchdog, which logs samples of the stack
+     * trace of this thread, or the render thread, when a logic tick, painting
+     * or presenting a frame takes longer than the threshold. Must be called
+     * before this thread is started.
+     *
+     * @param millis the threshold in milliseconds, or {@code 0} to disable
+     *               the watchdog
+     * @return this thread
+     * @throws IllegalArgumentException if {@code millis} is less than
+     *                                  {@code 0}
+     * @throws IllegalStateException    if this thread has already been
+     *                                  started
+     */
+    @Contract("_ -> this")
+    @NotNull
+    public GameThread setWatchdogThreshold(final long millis) {
+        if (millis < 0L)
+            throw new IllegalArgumentException("millis is less than 0");
+        if (getState() != State.NEW)
+            throw new IllegalStateException("thread has already been started");
+        watchdogThresholdNanos = millis * 1_000_000L;
         return this;
     }
 
@@ -275,6 +1279,32 @@ public final class GameThread extends Thread {
         shutdown = true;
     }
 
+    /**
+     * Updates the tick and frame rate from the current target, falling back
+     * to the default rates. An overridden tick rate takes precedence over
+     * both.
+     */
+    private synchronized void updateRates() {
+        final int tps = target != null ? target.getTicksPerSecond() : 0;
+        final int fps = target != null ? target.getFramesPerSecond() : 0;
+        if (tps < 0 || fps < 0)
+            Log.w("target declares negative rates [%s]", target.getClass().getName());
+        if (ticksPerSecondOverride > 0)
+            ticksPerSecond = ticksPerSecondOverride;
+        else
+            ticksPerSecond = tps > 0 ? tps : defaultTicksPerSecond;
+        framesPerSecond = fps > 0 ? fps : defaultFramesPerSecond;
+        // throttle logic, and painting at a fixed rate, in the background
+        if (background && backgroundTicksPerSecond > 0) {
+            ticksPerSecond = Math.min(ticksPerSecond, backgroundTicksPerSecond);
+            if (framesPerSecond > 0)
+                framesPerSecond = Math.min(framesPerSecond, backgroundTicksPerSecond);
+        }
+        // nanosecond precision; 60 tps does not round to 62.5 tps
+        logicTickNanos = 1_000_000_000L / ticksPerSecond;
+        frameNanos = framesPerSecond != 0 ? 1_000_000_000L / framesPerSecond : 0L;
+    }
+
 //    class DebugMouse {
 //
 //        Color color = Color.WHITE;
@@ -318,104 +1348,4 @@ public final class GameThread extends Thread {
 //            this.color = color;
 //        }
 //    }
-
-    private static class Performance {
-
-        public Color color = Color.WHITE;
-        @NotNull
-        public Font font = Font.decode("monospaced bold 14");
-        @NotNull
-        public Orientation orientation = Orientation.NORTH_WEST;
-
-        protected volatile long time = 0;
-        protected volatile long ticks = 0;
-        protected volatile long logic = 0;
-        protected volatile long paint = 0;
-        protected volatile long tps = 0;
-        protected volatile double logicAvg = 0;
-        protected volatile double paintAvg = 0;
-
-        public synchronized void addLogic(final long time) {
-            ticks++;
-            logic += time;
-        }
-
-        public synchronized void addPaint(final long time) {
-            paint += time;
-        }
-
-        public void paint(@NotNull final Graphics2D g, @NotNull final Resolution r) {
-            g.setColor(color);
-            g.setFont(font);
-
-            final FontMetrics fm = g.getFontMetrics();
-            final int lineHeight = fm.getHeight(),
-                    textHeight = lineHeight * 3 + 20;
-            final int[] widths = {
-                    fm.stringWidth("tps"),
-                    fm.stringWidth("avg. logic"),
-                    fm.stringWidth("avg. paint"),
-                    fm.stringWidth(" = "),
-                    fm.stringWidth(String.valueOf(tps)),
-                    fm.stringWidth(String.valueOf(logicAvg)),
-                    fm.stringWidth(String.valueOf(paintAvg))
-            };
-            final int width1 = ZUtil.max(widths[0], widths[1], widths[2]),
-                    width2 = widths[3],
-                    width3 = ZUtil.max(widths[4], widths[5], widths[6]),
-                    textWidth = width1 + width2 + width3 + 20;
-
-            final int textX, textY;
-            switch (orientation) {
-                case NORTH_EAST -> {
-                    textX = r.width - textWidth;
-                    textY = 0;
-                }
-                case SOUTH_EAST -> {
-                    textX = r.width - textWidth;
-                    textY = r.height - textHeight;
-                }
-                case SOUTH_WEST -> {
-                    textX = 0;
-                    textY = r.height - textHeight;
-                }
-                default -> {
-                    textX = 0;
-                    textY = 0;
-                }
-            }
-
-            int x = textX + 10, y = textY + 10 + fm.getAscent();
-            g.drawString("tps", x, y);
-            g.drawString("avg. logic", x, y + lineHeight);
-            g.drawString("avg. paint", x, y + lineHeight * 2);
-            x += width1;
-            g.drawString(" = ", x, y);
-            g.drawString(" = ", x, y + lineHeight);
-            g.drawString(" = ", x, y + lineHeight * 2);
-            x += width2;
-            g.drawString(String.valueOf(tps), x, y);
-            g.drawString(String.valueOf(logicAvg), x, y + lineHeight);
-            g.drawString(String.valueOf(paintAvg), x, y + lineHeight * 2);
-        }
-
-        synchronized void update(final long delta) {
-            time += delta;
-            if (time >= 1000L) {
-                tps = ticks;
-                logicAvg = /*logic;*/ BigDecimal.valueOf(logic)
-                        .divide(BigDecimal.valueOf(tps), 1, RoundingMode.UP).doubleValue();
-                paintAvg = /*paint;*/ BigDecimal.valueOf(paint)
-                        .divide(BigDecimal.valueOf(tps), 1, RoundingMode.UP).doubleValue();
-                time -= 1000L;
-                ticks = 0;
-                logic = 0;
-                paint = 0;
-            }
-        }
-
-        protected enum Orientation {
-            NORTH_EAST, NORTH_WEST, SOUTH_EAST, SOUTH_WEST
-        }
-    }
 }
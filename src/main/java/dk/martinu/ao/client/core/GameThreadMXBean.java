@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.core;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Management interface of a running {@link GameThread}, which is registered
+ * with the platform MBean server while the thread is running, with the
+ * object name {@code "dk.martinu.ao.client:type=GameThread"}. The interface
+ * exposes the state of the game loop for diagnosing a client without
+ * restarting it, e.g. with JConsole or JDK Mission Control, and allows a few
+ * settings to be changed at runtime.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @since 1.0
+ */
+public interface GameThreadMXBean {
+
+    /**
+     * Returns the highest tick rate while the window does not have focus, or
+     * {@code 0} if the tick rate is not throttled in the background.
+     */
+    int getBackgroundTicksPerSecond();
+
+    /**
+     * Returns a description of the actual capabilities of the buffer
+     * strategy that frames are painted with, or {@code null} if the thread
+     * has not created it yet.
+     */
+    @Nullable
+    String getBufferStrategy();
+
+    /**
+     * Returns the default tick rate, used for targets that do not declare
+     * their own.
+     */
+    int getDefaultTicksPerSecond();
+
+    /**
+     * Returns the number of logic ticks that have been dropped.
+     *
+     * @see GameThread#getDroppedTicks()
+     */
+    long getDroppedTicks();
+
+    /**
+     * Returns the frame rate of the current target.
+     *
+     * @see GameThread#getFramesPerSecond()
+     */
+    int getFramesPerSecond();
+
+    /**
+     * Returns the number of key input buffered on the current target, or
+     * {@code -1} if the target does not buffer key input.
+     */
+    int getKeyInputBacklog();
+
+    /**
+     * Returns the number of log records that have not been posted yet.
+     */
+    int getLogBacklog();
+
+    /**
+     * Returns the maximum number of logic ticks performed back to back when
+     * behind.
+     */
+    int getMaxCatchUpTicks();
+
+    /**
+     * Returns the name of the highest quality profile frames are painted
+     * with.
+     */
+    String getMaxQualityProfile();
+
+    /**
+     * Returns the number of mouse events held by the current target, or
+     * {@code -1} if the target does not hold mouse events.
+     */
+    int getMouseInputBacklog();
+
+    /**
+     * Returns percentiles of the time spent in logic, paint and present in
+     * the most recent performance window.
+     */
+    PerformanceSnapshot getPerformance();
+
+    /**
+     * Returns the name of the quality profile frames are currently painted
+     * with.
+     */
+    String getQualityProfile();
+
+    /**
+     * Returns the number of frames that have been skipped.
+     *
+     * @see GameThread#getSkippedFrames()
+     */
+    long getSkippedFrames();
+
+    /**
+     * Returns the class name of the current target, or {@code null} if no
+     * target has been set.
+     */
+    @Nullable
+    String getTarget();
+
+    /**
+     * Returns the tick rate of the current target.
+     *
+     * @see GameThread#getTicksPerSecond()
+     */
+    int getTicksPerSecond();
+
+    /**
+     * Returns the tick rate that takes precedence over the rate of the
+     * current target, or {@code 0} if the rate is not overridden.
+     *
+     * @see GameThread#getTicksPerSecondOverride()
+     */
+    int getTicksPerSecondOverride();
+
+    /**
+     * Returns {@code true} if the quality profile is adjusted automatically.
+     */
+    boolean isAdaptiveQuality();
+
+    /**
+     * Returns {@code true} if the window does not have focus, and the tick
+     * rate is throttled.
+     */
+    boolean isBackground();
+
+    /**
+     * Returns {@code true} if frames are painted into offscreen images.
+     */
+    boolean isHeadless();
+
+    /**
+     * Returns {@code true} if the window is iconified, and no frames are
+     * painted.
+     */
+    boolean isIconified();
+
+    /**
+     * Returns {@code true} if the thread is paused.
+     */
+    boolean isPaused();
+
+    /**
+     * Returns {@code true} if frames are painted on a separate render thread.
+     */
+    boolean isSeparateRenderThread();
+
+    /**
+     * Enables or disables adaptive quality.
+     *
+     * @see GameThread#setAdaptiveQuality(boolean)
+     */
+    void setAdaptiveQuality(boolean b);
+
+    /**
+     * Sets the highest tick rate while the window does not have focus, or
+     * {@code 0} to not throttle the tick rate in the background.
+     *
+     * @throws IllegalArgumentException if {@code ticksPerSecond} is less than
+     *                                  {@code 0}
+     * @see GameThread#setBackgroundTicksPerSecond(int)
+     */
+    void setBackgroundTicksPerSecond(int ticksPerSecond);
+
+    /**
+     * Sets the default tick rate, used for targets that do not declare their
+     * own.
+     *
+     * @throws IllegalArgumentException if {@code ticksPerSecond} is less than
+     *                                  or equal to {@code 0}
+     * @see GameThread#setTicksPerSecond(int)
+     */
+    void setDefaultTicksPerSecond(int ticksPerSecond);
+
+    /**
+     * Sets the maximum number of logic ticks performed back to back when
+     * behind.
+     *
+     * @throws IllegalArgumentException if {@code maxCatchUpTicks} is less than
+     *                                  {@code 1}
+     * @see GameThread#setMaxCatchUpTicks(int)
+     */
+    void setMaxCatchUpTicks(int maxCatchUpTicks);
+
+    /**
+     * Pauses or resumes the thread.
+     *
+     * @see GameThread#setPaused(boolean)
+     */
+    void setPaused(boolean b);
+
+    /**
+     * Sets the quality profile with the specified name (ignoring case), e.g.
+     * {@code "latency"}.
+     *
+     * @throws IllegalArgumentException if there is no profile with the
+     *                                  specified name
+     * @see GameThread#setQualityProfile(dk.martinu.ao.client.util.QualityProfile)
+     */
+    void setQualityProfile(String name);
+
+    /**
+     * Sets a tick rate that takes precedence over the rate declared by the
+     * current target, or {@code 0} to use the rate of the target again.
+     *
+     * @throws IllegalArgumentException if {@code ticksPerSecond} is less than
+     *                                  {@code 0}
+     * @see GameThread#setTicksPerSecondOverride(int)
+     */
+    void setTicksPerSecondOverride(int ticksPerSecond);
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.core;
+
+import org.jetbrains.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.Objects;
+
+import javax.management.*;
+
+import dk.martinu.ao.client.targets.AbstractTarget;
+import dk.martinu.ao.client.targets.Target;
+import dk.martinu.ao.client.util.Log;
+import dk.martinu.ao.client.util.QualityProfile;
+
+/**
+ * {@link GameThreadMXBean} implementation that delegates to a
+ * {@link GameThread}.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @see #register(GameThread)
+ * @since 1.0
+ */
+final class GameThreadManagement implements GameThreadMXBean {
+
+    /**
+     * The object name that the game thread is registered with.
+     */
+    static final String OBJECT_NAME = "dk.martinu.ao.client:type=GameThread";
+
+    /**
+     * Registers a management interface for the specified thread with the
+     * platform MBean server. Logs a warning if the interface cannot be
+     * registered, e.g. if another thread is already registered.
+     *
+     * @param thread the thread to register
+     * @return the name the interface was registered with, or {@code null} if
+     * it was not registered
+     * @see #unregister(ObjectName)
+     */
+    @Nullable
+    static ObjectName register(@NotNull final GameThread thread) {
+        try {
+            final ObjectName name = new ObjectName(OBJECT_NAME);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new GameThreadManagement(thread), name);
+            return name;
+        }
+        catch (final JMException e) {
+            Log.w("cannot register management interface [%s]", e, OBJECT_NAME);
+            return null;
+        }
+    }
+
+    /**
+     * Unregisters the management interface with the specified name from the
+     * platform MBean server. Does nothing if {@code name} is {@code null}.
+     */
+    static void unregister(@Nullable final ObjectName name) {
+        if (name != null)
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+            }
+            catch (final JMException e) {
+                Log.w("cannot unregister management interface [%s]", e, name);
+            }
+    }
+
+    /**
+     * The thread that is managed.
+     */
+    @NotNull
+    private final GameThread thread;
+
+    /**
+     * Constructs a new management interface for the specified thread.
+     *
+     * @throws NullPointerException if {@code thread} is {@code null}
+     */
+    GameThreadManagement(@NotNull final GameThread thread) {
+        this.thread = Objects.requireNonNull(thread, "thread is null");
+    }
+
+    @Override
+    public int getBackgroundTicksPerSecond() {
+        return thread.getBackgroundTicksPerSecond();
+    }
+
+    @Nullable
+    @Override
+    public String getBufferStrategy() {
+        return thread.getBufferStrategyDescription();
+    }
+
+    @Override
+    public int getDefaultTicksPerSecond() {
+        return thread.getDefaultTicksPerSecond();
+    }
+
+    @Override
+    public long getDroppedTicks() {
+        return thread.getDroppedTicks();
+    }
+
+    @Override
+    public int getFramesPerSecond() {
+        return thread.getFramesPerSecond();
+    }
+
+    @Override
+    public int getKeyInputBacklog() {
+        return thread.peekTarget() instanceof AbstractTarget target ? target.getKeyInputBacklog() : -1;
+    }
+
+    @Override
+    public int getLogBacklog() {
+        return Log.getBacklog();
+    }
+
+    @Override
+    public int getMaxCatchUpTicks() {
+        return thread.getMaxCatchUpTicks();
+    }
+
+    @Override
+    public String getMaxQualityProfile() {
+        return thread.getMaxQualityProfile().getName();
+    }
+
+    @Override
+    public int getMouseInputBacklog() {
+        return thread.peekTarget() instanceof AbstractTarget target ? target.getMouseInputBacklog() : -1;
+    }
+
+    @Override
+    public PerformanceSnapshot getPerformance() {
+        return thread.getPerformance();
+    }
+
+    @Override
+    public String getQualityProfile() {
+        return thread.getQualityProfile().getName();
+    }
+
+    @Override
+    public long getSkippedFrames() {
+        return thread.getSkippedFrames();
+    }
+
+    @Nullable
+    @Override
+    public String getTarget() {
+        final Target target = thread.peekTarget();
+        return target != null ? target.getClass().getName() : null;
+    }
+
+    @Override
+    public int getTicksPerSecond() {
+        return thread.getTicksPerSecond();
+    }
+
+    @Override
+    public int getTicksPerSecondOverride() {
+        return thread.getTicksPerSecondOverride();
+    }
+
+    @Override
+    public boolean isAdaptiveQuality() {
+        return thread.isAdaptiveQuality();
+    }
+
+    @Override
+    public boolean isBackground() {
+        return thread.isBackground();
+    }
+
+    @Override
+    public boolean isHeadless() {
+        return thread.isHeadless();
+    }
+
+    @Override
+    public boolean isIconified() {
+        return thread.isIconified();
+    }
+
+    @Override
+    public boolean isPaused() {
+        return thread.isPaused();
+    }
+
+    @Override
+    public boolean isSeparateRenderThread() {
+        return thread.isSeparateRenderThread();
+    }
+
+    @Override
+    public void setAdaptiveQuality(final boolean b) {
+        thread.setAdaptiveQuality(b);
+        Log.i("adaptive quality set to [%b] by management interface", b);
+    }
+
+    @Override
+    public void setBackgroundTicksPerSecond(final int ticksPerSecond) {
+        thread.setBackgroundTicksPerSecond(ticksPerSecond);
+        Log.i("background tick rate set to [%d] by management interface", ticksPerSecond);
+    }
+
+    @Override
+    public void setDefaultTicksPerSecond(final int ticksPerSecond) {
+        thread.setTicksPerSecond(ticksPerSecond);
+        Log.i("default tick rate set to [%d] by management interface", ticksPerSecond);
+    }
+
+    @Override
+    public void setMaxCatchUpTicks(final int maxCatchUpTicks) {
+        thread.setMaxCatchUpTicks(maxCatchUpTicks);
+        Log.i("maximum catch-up ticks set to [%d] by management interface", maxCatchUpTicks);
+    }
+
+    @Override
+    public void setPaused(final boolean b) {
+        thread.setPaused(b);
+        Log.i("paused set to [%b] by management interface", b);
+    }
+
+    @Override
+    public void setQualityProfile(final String name) {
+        final QualityProfile profile = QualityProfile.forName(name);
+        thread.setQualityProfile(profile);
+        Log.i("quality profile set to [%s] by management interface", profile.getName());
+    }
+
+    @Override
+    public void setTicksPerSecondOverride(final int ticksPerSecond) {
+        thread.setTicksPerSecondOverride(ticksPerSecond);
+        Log.i("tick rate override set to [%d] by management interface", ticksPerSecond);
+    }
+}
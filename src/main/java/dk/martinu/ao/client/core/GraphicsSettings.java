@@ -0,0 +1,440 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.core;
+
+import org.jetbrains.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+import java.lang.reflect.Constructor;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+import dk.martinu.ao.client.util.Log;
+import dk.martinu.ao.client.util.QualityProfile;
+import dk.martinu.ao.client.util.Resolution;
+import dk.martinu.kofi.Document;
+import dk.martinu.kofi.Property;
+
+/**
+ * Graphics settings used by {@link GameThread} to create its frame and buffer
+ * strategy. Settings are read from the {@code [graphics]} section of the
+ * client configuration:
+ * <ul>
+ *     <li>{@code buffers} - the number of buffers, default {@code 2}</li>
+ *     <li>{@code pageFlipping} - {@code true} to request page-flipping,
+ *     {@code false} to request blitting. If not set, the platform
+ *     chooses.</li>
+ *     <li>{@code flipContents} - contents of the back buffer after flipping;
+ *     {@code undefined} (default), {@code background}, {@code prior} or
+ *     {@code copied}</li>
+ *     <li>{@code vsync} - {@code true} to request vertical synchronization,
+ *     {@code false} to disable it. Implies page-flipping.</li>
+ *     <li>{@code device} - index or ID string of the graphics device. If not
+ *     set, the default screen device is used.</li>
+ *     <li>{@code configuration} - index of the graphics configuration of the
+ *     device. If not set, the default configuration is used.</li>
+ *     <li>{@code quality} - name of the initial
+ *     {@link QualityProfile quality profile}; {@code latency},
+ *     {@code balanced} or {@code quality} (default)</li>
+ *     <li>{@code adaptiveQuality} - {@code true} (default) to step the
+ *     quality profile down when painting exceeds the frame budget, and back
+ *     up when there is headroom</li>
+ *     <li>{@code logicalResolution} - fixed resolution as
+ *     {@code <width>x<height>} that targets are laid out and painted in, and
+ *     which is scaled to fit the window. If not set, targets use the size of
+ *     the window and are laid out again when it is resized.</li>
+ *     <li>{@code headless} - {@code true} to paint into offscreen images
+ *     instead of a window. If not set, headless mode is used only if the
+ *     environment is headless.</li>
+ *     <li>{@code headlessResolution} - size of offscreen images as
+ *     {@code <width>x<height>}, default {@code 800x600}</li>
+ *     <li>{@code headlessFrames} - number of frames to paint before shutting
+ *     down in headless mode, default {@code 0} (unlimited)</li>
+ *     <li>{@code headlessDump} - directory to dump headless frames to as PNG
+ *     files. If not set, frames are not dumped.</li>
+ *     <li>{@code headlessHash} - {@code true} to log a CRC-32 checksum of the
+ *     pixels of each headless frame, default {@code false}</li>
+ * </ul>
+ * In headless mode, {@code buffers} is the number of offscreen images.
+ * <b>NOTE:</b> vertical synchronization relies on internal JDK capabilities,
+ * which are only accessible if the client is launched with
+ * {@code --add-exports java.desktop/sun.java2d.pipe.hw=dk.martinu.ao.client}.
+ * Otherwise the request is ignored and a warning is logged.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @since 1.0
+ */
+final class GraphicsSettings {
+
+    /**
+     * Name of the configuration section to read settings from.
+     */
+    static final String SECTION = "graphics";
+    /**
+     * Default number of buffers.
+     */
+    static final int DEFAULT_BUFFERS = 2;
+    /**
+     * Default width of offscreen images in headless mode.
+     */
+    static final int DEFAULT_HEADLESS_WIDTH = 800;
+    /**
+     * Default height of offscreen images in headless mode.
+     */
+    static final int DEFAULT_HEADLESS_HEIGHT = 600;
+
+    /**
+     * Reads graphics settings from the specified configuration. Unknown or
+     * invalid settings are logged and ignored.
+     *
+     * @param config the configuration
+     * @return new graphics settings
+     * @throws NullPointerException if {@code config} is {@code null}
+     */
+    @Contract(value = "_ -> new", pure = true)
+    @NotNull
+    static GraphicsSettings read(@NotNull final Document config) {
+        Objects.requireNonNull(config, "config is null");
+        final GraphicsSettings settings = new GraphicsSettings();
+        final List<Property<?>> properties = config.getProperties(SECTION);
+        if (properties != null)
+            for (final Property<?> property : properties) {
+                final String value = String.valueOf(property.value).trim();
+                try {
+                    if (!settings.set(property.key.toLowerCase(Locale.ROOT), value))
+                        Log.w("unknown graphics setting [%s]", property.key);
+                    else
+                        Log.i("using graphics setting [%s=%s]", property.key, value);
+                }
+                catch (final Exception e) {
+                    Log.e("invalid graphics setting [%s=%s]", e, property.key, value);
+                }
+            }
+        return settings;
+    }
+
+    /**
+     * Parses a boolean setting, accepting only {@code "true"} and
+     * {@code "false"} (ignoring case).
+     *
+     * @throws IllegalArgumentException if {@code value} is not a boolean
+     */
+    @Contract(pure = true)
+    static boolean parseBoolean(@NotNull final String value) {
+        if ("true".equalsIgnoreCase(value))
+            return true;
+        else if ("false".equalsIgnoreCase(value))
+            return false;
+        else
+            throw new IllegalArgumentException("not a boolean {" + value + "}");
+    }
+
+    /**
+     * Parses a resolution setting as {@code <width>x<height>}.
+     *
+     * @throws IllegalArgumentException if {@code value} is not a resolution
+     */
+    @Contract(value = "_ -> new", pure = true)
+    @NotNull
+    static Resolution parseResolution(@NotNull final String value) {
+        final int x = value.toLowerCase(Locale.ROOT).indexOf('x');
+        if (x == -1)
+            throw new IllegalArgumentException("invalid resolution {" + value + "}");
+        return new Resolution(Integer.parseInt(value.substring(0, x).trim()),
+                Integer.parseInt(value.substring(x + 1).trim()));
+    }
+
+    /**
+     * The number of buffers.
+     */
+    int buffers = DEFAULT_BUFFERS;
+    /**
+     * {@code TRUE} to request page-flipping, {@code FALSE} to request
+     * blitting, or {@code null} to let the platform choose.
+     */
+    @Nullable
+    Boolean pageFlipping = null;
+    /**
+     * Contents of the back buffer after flipping.
+     */
+    @NotNull
+    BufferCapabilities.FlipContents flipContents = BufferCapabilities.FlipContents.UNDEFINED;
+    /**
+     * {@code TRUE} to request vertical synchronization, {@code FALSE} to
+     * disable it, or {@code null} to let the platform choose.
+     */
+    @Nullable
+    Boolean vsync = null;
+    /**
+     * Index or ID string of the graphics device, or {@code null}.
+     */
+    @Nullable
+    String device = null;
+    /**
+     * Index of the graphics configuration, or {@code -1}.
+     */
+    int configuration = -1;
+    /**
+     * {@code true} if the buffer strategy was created with the requested
+     * capabilities, {@code false} if the platform chose.
+     */
+    boolean capabilitiesApplied = false;
+    /**
+     * {@code true} if the buffer strategy was created with a vsync request.
+     */
+    boolean vsyncApplied = false;
+    /**
+     * The initial quality profile.
+     */
+    @NotNull
+    QualityProfile quality = QualityProfile.QUALITY;
+    /**
+     * {@code true} if the quality profile is adjusted automatically.
+     */
+    boolean adaptiveQuality = true;
+    /**
+     * Fixed resolution that is scaled to fit the window, or {@code null} to
+     * use the size of the window. Not used in headless mode.
+     */
+    @Nullable
+    Resolution logicalResolution = null;
+    /**
+     * {@code TRUE} to paint into offscreen images, {@code FALSE} to paint into
+     * a window, or {@code null} to paint offscreen only if the environment is
+     * headless.
+     */
+    @Nullable
+    Boolean headless = null;
+    /**
+     * Resolution of offscreen images in headless mode.
+     */
+    @NotNull
+    Resolution headlessResolution = new Resolution(DEFAULT_HEADLESS_WIDTH, DEFAULT_HEADLESS_HEIGHT);
+    /**
+     * Number of frames to paint in headless mode, or {@code 0} if unlimited.
+     */
+    long headlessFrames = 0L;
+    /**
+     * Directory to dump headless frames to, or {@code null}.
+     */
+    @Nullable
+    Path headlessDump = null;
+    /**
+     * {@code true} if headless frames are hashed.
+     */
+    boolean headlessHash = false;
+
+    /**
+     * Creates a buffer strategy for the specified frame. If the requested
+     * capabilities are not available, then a warning is logged and the
+     * platform chooses the capabilities instead.
+     *
+     * @param frame the frame
+     * @return a new buffer strategy
+     */
+    @NotNull
+    BufferStrategy createBufferStrategy(@NotNull final GameFrame frame) {
+        if (pageFlipping == null && vsync == null)
+            return frame.getNewBufferStrategy(buffers);
+
+        final boolean flip;
+        if (Boolean.FALSE.equals(pageFlipping)) {
+            if (Boolean.TRUE.equals(vsync))
+                Log.w("vsync requires page-flipping, ignoring vsync");
+            flip = false;
+        }
+        else
+            flip = true;
+
+        final BufferCapabilities caps = new BufferCapabilities(new ImageCapabilities(true),
+                new ImageCapabilities(true), flip ? flipContents : null);
+        final BufferCapabilities vsyncCaps = flip && vsync != null ? withVSync(caps, vsync) : caps;
+
+        try {
+            final BufferStrategy bs = frame.getNewBufferStrategy(buffers, vsyncCaps);
+            capabilitiesApplied = true;
+            vsyncApplied = vsyncCaps != caps;
+            return bs;
+        }
+        catch (final AWTException e) {
+            Log.w("requested buffer capabilities are not available, falling back to defaults", e);
+            return frame.getNewBufferStrategy(buffers);
+        }
+    }
+
+    /**
+     * Creates a buffer strategy that paints into offscreen images, used in
+     * headless mode.
+     *
+     * @return a new buffer strategy
+     */
+    @Contract(value = "-> new", pure = true)
+    @NotNull
+    ImageBufferStrategy createImageBufferStrategy() {
+        return new ImageBufferStrategy(headlessResolution, buffers, headlessDump, headlessHash, headlessFrames);
+    }
+
+    /**
+     * Returns the graphics configuration to create the frame with, or
+     * {@code null} to use the default configuration. Returns {@code null} in a
+     * headless environment.
+     */
+    @Nullable
+    GraphicsConfiguration getGraphicsConfiguration() {
+        if (device == null && configuration < 0 || GraphicsEnvironment.isHeadless())
+            return null;
+        final GraphicsDevice[] devices = GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices();
+        GraphicsDevice gd = null;
+        if (device == null)
+            gd = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice();
+        else
+            for (int i = 0; i < devices.length && gd == null; i++)
+                if (device.equals(devices[i].getIDstring()) || device.equals(String.valueOf(i)))
+                    gd = devices[i];
+        if (gd == null) {
+            Log.w("graphics device [%s] not found, using default device", device);
+            gd = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice();
+        }
+        if (configuration >= 0) {
+            final GraphicsConfiguration[] configs = gd.getConfigurations();
+            if (configuration < configs.length)
+                return configs[configuration];
+            Log.w("graphics configuration [%d] not found, using default configuration", configuration);
+        }
+        return gd.getDefaultConfiguration();
+    }
+
+    /**
+     * Returns {@code true} if frames are painted into offscreen images instead
+     * of a window. Logs a warning if a window was requested in a headless
+     * environment.
+     */
+    boolean isHeadless() {
+        if (GraphicsEnvironment.isHeadless()) {
+            if (Boolean.FALSE.equals(headless))
+                Log.w("environment is headless, ignoring headless=false");
+            return true;
+        }
+        return Boolean.TRUE.equals(headless);
+    }
+
+    /**
+     * Logs the actual capabilities of the specified frame and buffer
+     * strategy. {@code frame} is {@code null} in headless mode.
+     */
+    void report(@Nullable final GameFrame frame, @NotNull final BufferStrategy bs) {
+        final GraphicsConfiguration gc = frame != null ? frame.getGraphicsConfiguration() : null;
+        if (gc != null) {
+            final GraphicsDevice gd = gc.getDevice();
+            final DisplayMode mode = gd.getDisplayMode();
+            Log.i("graphics device [%s] bounds=%s refreshRate=%s accelerated=%b",
+                    gd.getIDstring(), gc.getBounds(),
+                    mode.getRefreshRate() != DisplayMode.REFRESH_RATE_UNKNOWN ? mode.getRefreshRate() : "unknown",
+                    gc.getImageCapabilities().isAccelerated());
+        }
+        Log.i("buffer strategy %s", describe(bs));
+    }
+
+    /**
+     * Returns a description of the actual capabilities of the specified
+     * buffer strategy.
+     */
+    @Contract(pure = true)
+    @NotNull
+    String describe(@NotNull final BufferStrategy bs) {
+        final BufferCapabilities caps = bs.getCapabilities();
+        return String.format("[%s] buffers=%d pageFlipping=%b flipContents=%s multiBuffer=%b fullScreenRequired=%b "
+                        + "frontAccelerated=%b backAccelerated=%b vsync=%s",
+                bs.getClass().getSimpleName(), buffers, caps.isPageFlipping(), caps.getFlipContents(),
+                caps.isMultiBufferAvailable(), caps.isFullScreenRequired(),
+                caps.getFrontBufferCapabilities().isAccelerated(), caps.getBackBufferCapabilities().isAccelerated(),
+                vsyncApplied ? vsync : "default");
+    }
+
+    /**
+     * Sets the setting with the specified (lower case) key.
+     *
+     * @return {@code true} if the key is known, otherwise {@code false}
+     * @throws IllegalArgumentException if {@code value} is invalid
+     */
+    boolean set(@NotNull final String key, @NotNull final String value) {
+        switch (key) {
+            case "buffers" -> {
+                final int n = Integer.parseInt(value);
+                if (n < 1)
+                    throw new IllegalArgumentException("buffers must be greater than 0");
+                buffers = n;
+            }
+            case "pageflipping" -> pageFlipping = parseBoolean(value);
+            case "flipcontents" -> flipContents = switch (value.toLowerCase(Locale.ROOT)) {
+                case "undefined" -> BufferCapabilities.FlipContents.UNDEFINED;
+                case "background" -> BufferCapabilities.FlipContents.BACKGROUND;
+                case "prior" -> BufferCapabilities.FlipContents.PRIOR;
+                case "copied" -> BufferCapabilities.FlipContents.COPIED;
+                default -> throw new IllegalArgumentException("invalid flip contents {" + value + "}");
+            };
+            case "vsync" -> vsync = parseBoolean(value);
+            case "device" -> device = value;
+            case "configuration" -> configuration = Integer.parseInt(value);
+            case "quality" -> quality = QualityProfile.forName(value);
+            case "adaptivequality" -> adaptiveQuality = parseBoolean(value);
+            case "headless" -> headless = parseBoolean(value);
+            case "logicalresolution" -> logicalResolution = parseResolution(value);
+            case "headlessresolution" -> headlessResolution = parseResolution(value);
+            case "headlessframes" -> {
+                final long n = Long.parseLong(value);
+                if (n < 0L)
+                    throw new IllegalArgumentException("headlessFrames is less than 0");
+                headlessFrames = n;
+            }
+            case "headlessdump" -> headlessDump = Path.of(value);
+            case "headlesshash" -> headlessHash = parseBoolean(value);
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns extended capabilities that request vertical synchronization to
+     * be enabled or disabled, or {@code caps} if the internal JDK capabilities
+     * are not accessible.
+     */
+    @NotNull
+    private BufferCapabilities withVSync(@NotNull final BufferCapabilities caps, final boolean enabled) {
+        try {
+            final Class<?> extClass = Class.forName("sun.java2d.pipe.hw.ExtendedBufferCapabilities");
+            final Class<?> typeClass = Class.forName("sun.java2d.pipe.hw.ExtendedBufferCapabilities$VSyncType");
+            Object type = null;
+            for (final Object constant : typeClass.getEnumConstants())
+                if (((Enum<?>) constant).name().equals(enabled ? "VSYNC_ON" : "VSYNC_OFF"))
+                    type = constant;
+            final Constructor<?> constructor = extClass.getConstructor(BufferCapabilities.class, typeClass);
+            return (BufferCapabilities) constructor.newInstance(caps, type);
+        }
+        catch (final ReflectiveOperationException | RuntimeException e) {
+            Log.w("vsync is not accessible, launch with --add-exports "
+                    + "java.desktop/sun.java2d.pipe.hw=dk.martinu.ao.client", e);
+            return caps;
+        }
+    }
+}
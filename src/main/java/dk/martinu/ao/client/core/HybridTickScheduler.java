@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.core;
+
+import java.util.concurrent.locks.LockSupport;
+
+import static java.lang.System.nanoTime;
+
+/**
+ * Tick scheduler that parks the calling thread for most of the remaining time
+ * until a deadline, and spin-waits the remaining fraction. Parking is cheap
+ * but imprecise (its granularity depends on the platform timer resolution),
+ * so the spin threshold should be larger than the expected oversleep.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @see TickScheduler#hybrid(long)
+ * @since 1.0
+ */
+final class HybridTickScheduler implements TickScheduler {
+
+    /**
+     * Amount of time in nanoseconds to spin-wait before a deadline.
+     */
+    private final long spinNanos;
+
+    /**
+     * Constructs a new hybrid scheduler.
+     *
+     * @param spinNanos amount of time in nanoseconds to spin-wait before a
+     *                  deadline
+     * @throws IllegalArgumentException if {@code spinNanos} is less than
+     *                                  {@code 0}
+     */
+    HybridTickScheduler(final long spinNanos) {
+        if (spinNanos < 0L)
+            throw new IllegalArgumentException("spinNanos is less than 0");
+        this.spinNanos = spinNanos;
+    }
+
+    @Override
+    public void awaitDeadline(final long deadline) {
+        long remaining;
+        // park until the spin threshold is reached
+        while ((remaining = deadline - nanoTime()) > spinNanos) {
+            LockSupport.parkNanos(this, remaining - spinNanos);
+            if (Thread.currentThread().isInterrupted())
+                return;
+        }
+        // spin the last fraction
+        while (nanoTime() - deadline < 0L)
+            Thread.onSpinWait();
+    }
+
+    @Override
+    public String toString() {
+        return "hybrid(" + spinNanos / 1000L + "us)";
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.core;
+
+import org.jetbrains.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+import javax.imageio.ImageIO;
+
+import dk.martinu.ao.client.util.Log;
+import dk.martinu.ao.client.util.Resolution;
+
+import static java.lang.System.nanoTime;
+
+/**
+ * Buffer strategy that paints into a pool of offscreen images instead of a
+ * window, used by {@link GameThread} in headless mode. Each call to
+ * {@link #show()} completes a frame, which is optionally dumped to a PNG file
+ * and/or hashed, and advances to the next image of the pool.
+ * <p>
+ * With a single image the contents of the back buffer are retained between
+ * frames (like blitting), otherwise they are undefined (like page-flipping).
+ * Contents are never lost.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @see GraphicsSettings
+ * @since 1.0
+ */
+final class ImageBufferStrategy extends BufferStrategy {
+
+    /**
+     * The pool of images that are painted into.
+     */
+    @NotNull
+    private final BufferedImage[] images;
+    @NotNull
+    private final BufferCapabilities capabilities;
+    /**
+     * Directory to dump frames to, or {@code null}.
+     */
+    @Nullable
+    private final Path dumpDirectory;
+    /**
+     * Checksum of frame pixels, or {@code null} if frames are not hashed.
+     */
+    @Nullable
+    private final CRC32 crc;
+    /**
+     * Reusable buffer of frame pixels to update {@link #crc} with.
+     */
+    @Nullable
+    private final ByteBuffer pixels;
+    /**
+     * Maximum number of frames to paint, or {@code 0} if unlimited.
+     */
+    private final long maxFrames;
+    /**
+     * Index of the current back buffer.
+     */
+    private int index = 0;
+    /**
+     * Number of completed frames.
+     */
+    private volatile long frames = 0L;
+    /**
+     * Timestamp of the first call to {@link #getDrawGraphics()} of the current
+     * frame, or {@code -1}.
+     */
+    private long frameStart = -1L;
+    /**
+     * Sum of time in nanoseconds spent painting and showing frames.
+     */
+    private long paintNanos = 0L;
+    /**
+     * Timestamp of the first frame, or {@code -1}.
+     */
+    private long firstFrame = -1L;
+
+    /**
+     * Creates a new buffer strategy.
+     *
+     * @param resolution    the size of images
+     * @param buffers       the number of images in the pool
+     * @param dumpDirectory directory to dump frames to, or {@code null}
+     * @param hash          {@code true} if frames are hashed
+     * @param maxFrames     the maximum number of frames to paint, or
+     *                      {@code 0} if unlimited
+     * @throws NullPointerException     if {@code resolution} is {@code null}
+     * @throws IllegalArgumentException if {@code buffers} is less than 1
+     */
+    ImageBufferStrategy(@NotNull final Resolution resolution, final int buffers, @Nullable final Path dumpDirectory,
+            final boolean hash, final long maxFrames) {
+        Objects.requireNonNull(resolution, "resolution is null");
+        if (buffers < 1)
+            throw new IllegalArgumentException("buffers must be greater than 0");
+        images = new BufferedImage[buffers];
+        for (int i = 0; i < buffers; i++)
+            images[i] = new BufferedImage(resolution.width, resolution.height, BufferedImage.TYPE_INT_RGB);
+        capabilities = new BufferCapabilities(new ImageCapabilities(false), new ImageCapabilities(false),
+                buffers > 1 ? BufferCapabilities.FlipContents.UNDEFINED : null);
+        this.dumpDirectory = dumpDirectory;
+        if (hash) {
+            crc = new CRC32();
+            pixels = ByteBuffer.allocate(resolution.width * resolution.height * Integer.BYTES);
+        }
+        else {
+            crc = null;
+            pixels = null;
+        }
+        this.maxFrames = maxFrames;
+    }
+
+    /**
+     * Returns {@code false}, contents are never lost.
+     */
+    @Contract(pure = true)
+    @Override
+    public boolean contentsLost() {
+        return false;
+    }
+
+    /**
+     * Returns {@code false}, contents are never lost.
+     */
+    @Contract(pure = true)
+    @Override
+    public boolean contentsRestored() {
+        return false;
+    }
+
+    /**
+     * Logs the number of painted frames and the paint throughput.
+     */
+    @Override
+    public void dispose() {
+        if (frames > 0L) {
+            final long elapsed = nanoTime() - firstFrame;
+            Log.i("headless frames [%d] elapsed=%dms fps=%.1f avg. paint=%.3fms", frames, elapsed / 1_000_000L,
+                    frames * 1_000_000_000.0 / Math.max(elapsed, 1L), paintNanos / 1_000_000.0 / frames);
+        }
+    }
+
+    @Contract(pure = true)
+    @NotNull
+    @Override
+    public BufferCapabilities getCapabilities() {
+        return capabilities;
+    }
+
+    /**
+     * Returns a new graphics context of the current back buffer.
+     */
+    @NotNull
+    @Override
+    public Graphics getDrawGraphics() {
+        if (frameStart == -1L) {
+            frameStart = nanoTime();
+            if (firstFrame == -1L)
+                firstFrame = frameStart;
+        }
+        return images[index].createGraphics();
+    }
+
+    /**
+     * Returns the number of completed frames.
+     */
+    @Contract(pure = true)
+    public long getFrameCount() {
+        return frames;
+    }
+
+    /**
+     * Returns {@code true} if the maximum number of frames have been painted.
+     */
+    @Contract(pure = true)
+    public boolean isComplete() {
+        return maxFrames > 0L && frames >= maxFrames;
+    }
+
+    /**
+     * Completes the current frame. The frame is dumped and hashed if enabled,
+     * and the next image of the pool becomes the back buffer.
+     */
+    @Override
+    public void show() {
+        final BufferedImage image = images[index];
+        final long frame = frames + 1;
+        if (crc != null && pixels != null) {
+            final int[] data = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+            pixels.clear();
+            pixels.asIntBuffer().put(data);
+            crc.reset();
+            crc.update(pixels);
+            Log.i("headless frame [%d] crc32=%08x", frame, crc.getValue());
+        }
+        if (dumpDirectory != null)
+            try {
+                ImageIO.write(image, "png", Files.createDirectories(dumpDirectory)
+                        .resolve(String.format("frame-%06d.png", frame)).toFile());
+            }
+            catch (final IOException e) {
+                Log.e("could not dump headless frame [%d]", e, frame);
+            }
+        if (frameStart != -1L) {
+            paintNanos += nanoTime() - frameStart;
+            frameStart = -1L;
+        }
+        index = (index + 1) % images.length;
+        frames = frame;
+    }
+}
@@ -20,11 +20,22 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.awt.Toolkit;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
 import java.util.*;
 
 import javax.swing.SwingUtilities;
 
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import dk.martinu.ao.client.assets.AssetManifest;
+import dk.martinu.ao.client.assets.AssetPreloader;
+import dk.martinu.ao.client.event.InputRecorder;
+import dk.martinu.ao.client.event.InputReplay;
 import dk.martinu.ao.client.util.Log;
+import dk.martinu.ao.client.util.Resolution;
 import dk.martinu.ao.client.targets.Intro;
 import dk.martinu.ao.client.targets.Target;
 import dk.martinu.kofi.Document;
@@ -42,6 +53,70 @@ import dk.martinu.kofi.Property;
  */
 final class Launcher {
 
+    /**
+     * Number of frames of each target painted in a training pass, unless
+     * configured otherwise.
+     *
+     * @see #OPTION_TRAIN
+     */
+    static final long TRAINING_FRAMES = 120L;
+    /**
+     * Maximum time in milliseconds a training pass can take before it fails.
+     *
+     * @see #OPTION_TRAIN
+     */
+    static final long TRAINING_TIMEOUT = 60_000L;
+
+    /**
+     * Starts preloading the assets declared in a manifest on worker threads
+     * when the client is launched. The intro does not hand off to the primary
+     * target until all required assets are loaded. If the intro is skipped,
+     * the launcher waits for required assets before starting the thread.
+     * <p>
+     * The name of this option is {@code "assetManifest"}. The argument is the
+     * path of the manifest file.
+     *
+     * @see AssetManifest
+     * @see GameThread#setAssets(AssetPreloader)
+     */
+    private static final Option OPTION_ASSET_MANIFEST = (launcher, arg) -> {
+        final AssetManifest manifest;
+        try {
+            manifest = AssetManifest.readFrom(Path.of(String.valueOf(arg)));
+        }
+        catch (final IOException e) {
+            Log.e("could not read asset manifest [%s]", e, arg);
+            return;
+        }
+        final AssetPreloader assets = new AssetPreloader(manifest);
+        assets.start();
+        launcher.thread.setAssets(assets);
+    };
+    /**
+     * Sets the highest tick rate of the thread while the window does not have
+     * focus or is iconified. No frames are painted while the window is
+     * iconified.
+     * <p>
+     * The name of this option is {@code "backgroundTicksPerSecond"}. The
+     * argument must be a non-negative integer, where {@code 0} disables
+     * throttling in the background.
+     *
+     * @see GameThread#setBackgroundTicksPerSecond(int)
+     */
+    private static final Option OPTION_BACKGROUND_TICKS_PER_SECOND = (launcher, arg) ->
+            launcher.thread.setBackgroundTicksPerSecond(Integer.parseInt(String.valueOf(arg)));
+    /**
+     * Sets the maximum number of logic ticks the thread performs back to back,
+     * without painting, when it is behind schedule. Any remaining backlog is
+     * dropped.
+     * <p>
+     * The name of this option is {@code "catchUpTicks"}. The argument must be
+     * a positive integer.
+     *
+     * @see GameThread#setMaxCatchUpTicks(int)
+     */
+    private static final Option OPTION_CATCH_UP_TICKS = (launcher, arg) ->
+            launcher.thread.setMaxCatchUpTicks(Integer.parseInt(String.valueOf(arg)));
     /**
      * Enables or disables dynamic layout of top level containers.
      * <p>
@@ -61,6 +136,29 @@ final class Launcher {
         else if ("false".equalsIgnoreCase(arg))
             Toolkit.getDefaultToolkit().setDynamicLayout(false);
     };
+    /**
+     * Starts a flight recording when the client is launched, which is dumped
+     * to a file when the JVM exits. The recording uses the {@code default}
+     * JFR configuration and includes the events of the
+     * {@link dk.martinu.ao.client.jfr} package.
+     * <p>
+     * The name of this option is {@code "flightRecording"}. The argument is
+     * the path of the file to dump the recording to.
+     */
+    private static final Option OPTION_FLIGHT_RECORDING = (launcher, arg) ->
+            startFlightRecording(Path.of(String.valueOf(arg)));
+    /**
+     * Sets the default frame rate, used for targets that do not declare their
+     * own.
+     * <p>
+     * The name of this option is {@code "framesPerSecond"}. The argument must
+     * be a non-negative integer, where {@code 0} means that a frame is painted
+     * after each logic tick, or at display rate on a separate render thread.
+     *
+     * @see GameThread#setFramesPerSecond(int)
+     */
+    private static final Option OPTION_FRAMES_PER_SECOND = (launcher, arg) ->
+            launcher.thread.setFramesPerSecond(Integer.parseInt(String.valueOf(arg)));
     /**
      * Enables or disables the printing of the application's performance in the
      * thread loop.
@@ -77,6 +175,80 @@ final class Launcher {
         else if ("false".equalsIgnoreCase(arg))
             launcher.thread.setPrintPerformance(false);
     };
+    /**
+     * Records all key and mouse events reaching the window, stamped with the
+     * logic tick they arrive before, to a file that can be replayed with
+     * {@link #OPTION_REPLAY_INPUT}. The intro is skipped, since it is timed
+     * by the wall clock and would not hand off at the same tick when
+     * replayed.
+     * <p>
+     * The name of this option is {@code "recordInput"}. The argument is the
+     * path of the file to record to. This option is ignored in headless
+     * mode.
+     *
+     * @see InputRecorder
+     */
+    private static final Option OPTION_RECORD_INPUT = (launcher, arg) -> {
+        final GameFrame frame = launcher.thread.frame;
+        if (frame == null) {
+            Log.w("cannot record input in headless mode");
+            return;
+        }
+        try {
+            launcher.thread.setInputRecorder(new InputRecorder(Path.of(String.valueOf(arg)),
+                    launcher.thread::getTickCount));
+            launcher.skipIntro = true;
+        }
+        catch (final IOException e) {
+            Log.e("could not create input recording [%s]", e, arg);
+        }
+    };
+    /**
+     * Enables or disables painting on a separate render thread.
+     * <p>
+     * The name of this option is {@code "renderThread"}. A separate render
+     * thread is used if the argument (ignoring case) is equal to
+     * {@code "true"}, and not used if it is equal to {@code "false"}.
+     *
+     * @see GameThread#setSeparateRenderThread(boolean)
+     */
+    private static final Option OPTION_RENDER_THREAD = (launcher, arg) -> {
+        if ("true".equalsIgnoreCase(arg))
+            launcher.thread.setSeparateRenderThread(true);
+        else if ("false".equalsIgnoreCase(arg))
+            launcher.thread.setSeparateRenderThread(false);
+    };
+    /**
+     * Replays input events recorded with {@link #OPTION_RECORD_INPUT} as a
+     * benchmark. The thread is created headless, performs ticks as fast as
+     * possible (see {@link TickScheduler#none()}) and shuts down when all
+     * events have been replayed. The intro is skipped. The
+     * {@code headlessResolution} graphics setting should match the size of
+     * the recorded window, otherwise mouse events might miss their targets.
+     * <p>
+     * The name of this option is {@code "replayInput"}. The argument is the
+     * path of the recording. This option is read before the launcher's
+     * thread is created, since the thread must be created headless.
+     *
+     * @see InputReplay
+     */
+    private static final Option OPTION_REPLAY_INPUT = (launcher, arg) -> {
+        final InputReplay replay;
+        try {
+            replay = InputReplay.readFrom(Path.of(String.valueOf(arg)));
+        }
+        catch (final IOException e) {
+            Log.e("could not read input recording [%s]", e, arg);
+            return;
+        }
+        final Resolution r = launcher.thread.graphics.headlessResolution;
+        if (replay.width != r.width || replay.height != r.height)
+            Log.w("input was recorded at [%dx%d], replaying at [%dx%d]", replay.width, replay.height,
+                    r.width, r.height);
+        launcher.thread.setInputReplay(replay).setTickScheduler(TickScheduler.none());
+        launcher.skipIntro = true;
+        Log.i("replaying %d input events over %d ticks", replay.getEventCount(), replay.getLastTick());
+    };
     /**
      * Option for skipping the intro cinematic at launch.
      * <p>
@@ -88,6 +260,87 @@ final class Launcher {
         if ("true".equalsIgnoreCase(arg))
             launcher.skipIntro = true;
     };
+    /**
+     * Option for running a training pass instead of launching the client
+     * normally. The training pass runs headless; it goes through the intro,
+     * the primary target and then every {@link #registerTarget(Target)
+     * registered} target in turn, paints a number of frames of each target,
+     * waits for all preloaded assets (see {@link #OPTION_ASSET_MANIFEST}) and
+     * then returns, so the JVM can exit cleanly, e.g. to dump an AppCDS
+     * archive with {@code -XX:ArchiveClassesAtExit}. Without an asset
+     * manifest, the {@link AssetManifest#getDefault() default assets} are
+     * loaded. The number of frames can be set with the
+     * {@code headlessFrames} graphics setting. If the pass does not complete
+     * within {@link #TRAINING_TIMEOUT} milliseconds, it fails with an
+     * exception.
+     * <p>
+     * The name of this option is {@code "train"}. A training pass is run if
+     * the argument (ignoring case) is equal to {@code "true"}. This option is
+     * also read before the launcher's thread is created, since the thread
+     * must be created headless.
+     *
+     * @see #run(Target)
+     */
+    private static final Option OPTION_TRAIN = (launcher, arg) -> {
+        if ("true".equalsIgnoreCase(arg))
+            launcher.train = true;
+    };
+    /**
+     * Sets the default tick rate, used for targets that do not declare their
+     * own.
+     * <p>
+     * The name of this option is {@code "ticksPerSecond"}. The argument must
+     * be a positive integer.
+     *
+     * @see GameThread#setTicksPerSecond(int)
+     */
+    private static final Option OPTION_TICKS_PER_SECOND = (launcher, arg) ->
+            launcher.thread.setTicksPerSecond(Integer.parseInt(String.valueOf(arg)));
+    /**
+     * Selects the scheduler used by the thread loop to wait for the next logic
+     * tick.
+     * <p>
+     * The name of this option is {@code "tickScheduler"}. The thread
+     * spin-waits for each tick if the argument (ignoring case) is equal to
+     * {@code "busy"}, parks between ticks if it is equal to {@code "hybrid"}
+     * (the default), and does not wait at all if it is equal to
+     * {@code "none"}.
+     *
+     * @see GameThread#setTickScheduler(TickScheduler)
+     * @see TickScheduler
+     */
+    private static final Option OPTION_TICK_SCHEDULER = (launcher, arg) -> {
+        if ("busy".equalsIgnoreCase(arg))
+            launcher.thread.setTickScheduler(TickScheduler.busy());
+        else if ("hybrid".equalsIgnoreCase(arg))
+            launcher.thread.setTickScheduler(TickScheduler.hybrid());
+        else if ("none".equalsIgnoreCase(arg))
+            launcher.thread.setTickScheduler(TickScheduler.none());
+    };
+    /**
+     * Sets the amount of time in microseconds that a hybrid tick scheduler
+     * spin-waits before each tick. Larger values trade CPU time for less
+     * jitter on platforms with a coarse timer resolution.
+     * <p>
+     * The name of this option is {@code "tickSpinMicros"}. The argument must
+     * be a non-negative integer. This option implies a hybrid scheduler.
+     *
+     * @see TickScheduler#hybrid(long)
+     */
+    private static final Option OPTION_TICK_SPIN_MICROS = (launcher, arg) ->
+            launcher.thread.setTickScheduler(TickScheduler.hybrid(Long.parseLong(String.valueOf(arg)) * 1000L));
+    /**
+     * Starts a watchdog that logs samples of the stack trace of the game
+     * thread, or render thread, when a logic tick or frame takes longer than
+     * a threshold.
+     * <p>
+     * The name of this option is {@code "watchdogThreshold"}. The argument is
+     * the threshold in milliseconds, where {@code 0} disables the watchdog.
+     *
+     * @see GameThread#setWatchdogThreshold(long)
+     */
+    private static final Option OPTION_WATCHDOG_THRESHOLD = (launcher, arg) ->
+            launcher.thread.setWatchdogThreshold(Long.parseLong(String.valueOf(arg)));
 
     // unused
 //    static {
@@ -104,14 +357,40 @@ final class Launcher {
      * @see #OPTION_SKIP_INTRO
      */
     private boolean skipIntro = false;
+    /**
+     * {@code true} if a training pass should be run.
+     *
+     * @see #OPTION_TRAIN
+     */
+    private boolean train = false;
+    /**
+     * Targets reachable after the primary target, exercised by training
+     * passes.
+     *
+     * @see #registerTarget(Target)
+     */
+    private final List<Target> targets = new ArrayList<>();
 
     /**
      * Creates a new launcher with the specified configuration. The following
      * launcher options are available:
      * <ol>
+     * <li>{@link #OPTION_ASSET_MANIFEST}</li>
+     * <li>{@link #OPTION_BACKGROUND_TICKS_PER_SECOND}</li>
+     * <li>{@link #OPTION_CATCH_UP_TICKS}</li>
      * <li>{@link #OPTION_DYNAMIC_LAYOUT}</li>
+     * <li>{@link #OPTION_FLIGHT_RECORDING}</li>
+     * <li>{@link #OPTION_FRAMES_PER_SECOND}</li>
      * <li>{@link #OPTION_PRINT_PERFORMANCE}</li>
+     * <li>{@link #OPTION_RECORD_INPUT}</li>
+     * <li>{@link #OPTION_RENDER_THREAD}</li>
+     * <li>{@link #OPTION_REPLAY_INPUT}</li>
      * <li>{@link #OPTION_SKIP_INTRO}</li>
+     * <li>{@link #OPTION_TICKS_PER_SECOND}</li>
+     * <li>{@link #OPTION_TICK_SCHEDULER}</li>
+     * <li>{@link #OPTION_TICK_SPIN_MICROS}</li>
+     * <li>{@link #OPTION_TRAIN}</li>
+     * <li>{@link #OPTION_WATCHDOG_THRESHOLD}</li>
      * </ol>
      *
      * @param config The configuration for this launcher
@@ -120,16 +399,40 @@ final class Launcher {
     Launcher(@NotNull final Document config) {
         Objects.requireNonNull(config, "config is null");
 
+        /* create thread from config; options below configure it */
+        final List<Property<String>> args = config.getProperties("launcher", String.class);
+        // training and replaying must be known before the thread creates its frame
+        boolean headless = false;
+        if (args != null)
+            for (final Property<String> arg : args)
+                if ("train".equalsIgnoreCase(arg.key) && "true".equalsIgnoreCase(arg.value))
+                    headless = true;
+                else if ("replayInput".equalsIgnoreCase(arg.key))
+                    headless = true;
+        thread = new GameThread(config, headless);
+
         /* default launcher options */
         //noinspection SpellCheckingInspection
-        final Map<String, Option> options = Map.of(
-                "dynamiclayout", OPTION_DYNAMIC_LAYOUT,
-                "printperformance", OPTION_PRINT_PERFORMANCE,
-                "skipintro", OPTION_SKIP_INTRO
+        final Map<String, Option> options = Map.ofEntries(
+                Map.entry("assetmanifest", OPTION_ASSET_MANIFEST),
+                Map.entry("backgroundtickspersecond", OPTION_BACKGROUND_TICKS_PER_SECOND),
+                Map.entry("catchupticks", OPTION_CATCH_UP_TICKS),
+                Map.entry("dynamiclayout", OPTION_DYNAMIC_LAYOUT),
+                Map.entry("flightrecording", OPTION_FLIGHT_RECORDING),
+                Map.entry("framespersecond", OPTION_FRAMES_PER_SECOND),
+                Map.entry("printperformance", OPTION_PRINT_PERFORMANCE),
+                Map.entry("recordinput", OPTION_RECORD_INPUT),
+                Map.entry("renderthread", OPTION_RENDER_THREAD),
+                Map.entry("replayinput", OPTION_REPLAY_INPUT),
+                Map.entry("skipintro", OPTION_SKIP_INTRO),
+                Map.entry("tickspersecond", OPTION_TICKS_PER_SECOND),
+                Map.entry("tickscheduler", OPTION_TICK_SCHEDULER),
+                Map.entry("tickspinmicros", OPTION_TICK_SPIN_MICROS),
+                Map.entry("train", OPTION_TRAIN),
+                Map.entry("watchdogthreshold", OPTION_WATCHDOG_THRESHOLD)
         );
 
         /* configure launcher from config */
-        final List<Property<String>> args = config.getProperties("launcher", String.class);
         if (args != null)
             for (final Property<String> arg : args) {
                 final Option op = options.get(arg.key.toLowerCase(Locale.ROOT));
@@ -147,9 +450,27 @@ final class Launcher {
                     Log.e("launcher option failed [%s=%s]", e, arg.key, arg.value);
                 }
             }
+    }
 
-        /* create and configure thread from config */
-        thread = new GameThread(config);
+    /**
+     * Starts a flight recording that is dumped to the specified file when the
+     * JVM exits. Failures are logged.
+     *
+     * @param destination the file to dump the recording to
+     */
+    private static void startFlightRecording(@NotNull final Path destination) {
+        try {
+            final Recording recording = new Recording(Configuration.getConfiguration("default"));
+            recording.setName("dk.martinu.ao.client");
+            recording.setToDisk(true);
+            recording.setDumpOnExit(true);
+            recording.setDestination(destination);
+            recording.start();
+            Log.i("started flight recording [%s]", destination);
+        }
+        catch (final IOException | ParseException | RuntimeException e) {
+            Log.e("could not start flight recording [%s]", e, destination);
+        }
     }
 
     /**
@@ -165,21 +486,137 @@ final class Launcher {
         Objects.requireNonNull(target, "target is null");
         if (thread.getState() != Thread.State.NEW)
             throw new IllegalStateException("thread has already been started");
+        if (train) {
+            train(target);
+            return;
+        }
 
         // initial target
         final Target t = skipIntro ? target : new Intro(thread, target);
+        // without the intro, required assets must be ready before starting
+        final AssetPreloader assets = thread.getAssets();
+        if (skipIntro && assets != null)
+            try {
+                assets.awaitReady();
+            }
+            catch (final InterruptedException e) {
+                Log.w("interrupted while waiting for assets", e);
+                Thread.currentThread().interrupt();
+            }
         // launch client
         try {
-            SwingUtilities.invokeAndWait(() ->
-                    // TODO create and pass GraphicsConfiguration
-                    thread.setTarget(t).start());
+            SwingUtilities.invokeAndWait(() -> thread.setTarget(t).start());
             Log.i("launcher started thread successfully");
         }
         catch (final Exception e) {
             e.printStackTrace();
             Log.e("launcher terminated from exception", e);
-            thread.frame.shutdown();
+            if (thread.frame != null)
+                thread.frame.shutdown();
+        }
+    }
+
+    /**
+     * Registers a target that the client can reach after the primary target,
+     * e.g. a scene shown after logging in. Training passes prepare, switch to
+     * and paint every registered target after the primary target, in the
+     * order they were registered.
+     *
+     * @param target the target to register
+     * @throws NullPointerException if {@code target} is {@code null}
+     * @see #OPTION_TRAIN
+     */
+    final void registerTarget(@NotNull final Target target) {
+        targets.add(Objects.requireNonNull(target, "target is null"));
+    }
+
+    /**
+     * Runs a training pass with the specified primary target, followed by all
+     * registered targets, and blocks until it has completed.
+     *
+     * @throws IllegalStateException if a target did not paint the required
+     *                               number of frames in time
+     * @see #OPTION_TRAIN
+     */
+    private void train(@NotNull final Target target) {
+        Log.i("starting training pass");
+        if (thread.frame != null)
+            throw new IllegalStateException("training pass requires a headless thread");
+        final long frames = thread.graphics.headlessFrames != 0L ? thread.graphics.headlessFrames : TRAINING_FRAMES;
+        // the thread must not stop by itself before every target is painted
+        thread.graphics.headlessFrames = 0L;
+        AssetPreloader assets = thread.getAssets();
+        if (assets == null) {
+            Log.i("training without an asset manifest, loading default assets");
+            assets = new AssetPreloader(AssetManifest.getDefault());
+            assets.start();
+            thread.setAssets(assets);
+        }
+        // go through the intro without waiting for it
+        final Intro intro = new Intro(thread, target);
+        intro.skip = true;
+        final long deadline = System.currentTimeMillis() + TRAINING_TIMEOUT;
+        Target current = target;
+        boolean completed = false;
+        try {
+            // headless; there is no frame to create on the event dispatch thread
+            thread.setTarget(intro).start();
+            completed = awaitFrames(target, frames, deadline);
+            for (int i = 0; completed && i < targets.size(); i++) {
+                current = targets.get(i);
+                thread.setTargetWhenReady(current);
+                completed = awaitFrames(current, frames, deadline);
+            }
+            thread.shutdown();
+            thread.join();
+            if (completed)
+                assets.awaitDone();
+        }
+        catch (final InterruptedException e) {
+            thread.shutdown();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("training pass interrupted", e);
         }
+        if (!completed)
+            throw new IllegalStateException("training pass timed out before target "
+                    + current.getClass().getName() + " painted " + frames + " frames");
+        Log.i("training pass completed, painted %d frames of %d targets", frames, targets.size() + 1);
+    }
+
+    /**
+     * Waits for the specified target to be switched in during a training
+     * pass, and then for the specified number of frames to be painted. Logs
+     * an error and returns {@code false} if the deadline passed first.
+     */
+    private boolean awaitFrames(@NotNull final Target target, final long frames, final long deadline)
+            throws InterruptedException {
+        while (thread.peekTarget() != target)
+            if (!awaitTraining(deadline))
+                break;
+        // the target is switched in by a tick, before that tick's frame is painted
+        final long start = thread.getFrameCount();
+        while (thread.getFrameCount() - start < frames)
+            if (!awaitTraining(deadline))
+                break;
+        final long painted = thread.peekTarget() == target ? thread.getFrameCount() - start : 0L;
+        if (painted < frames) {
+            Log.e("training pass timed out after %d ms [target=%s, frames=%d]", TRAINING_TIMEOUT,
+                    target.getClass().getName(), painted);
+            return false;
+        }
+        Log.i("training painted %d frames of target %s", painted, target.getClass().getName());
+        return true;
+    }
+
+    /**
+     * Waits briefly for a training pass to progress. Returns {@code false} if
+     * the specified deadline has passed, or the thread has terminated.
+     */
+    private boolean awaitTraining(final long deadline) throws InterruptedException {
+        if (System.currentTimeMillis() - deadline >= 0L || !thread.isAlive())
+            return false;
+        Thread.sleep(10L);
+        return true;
     }
 
     /**
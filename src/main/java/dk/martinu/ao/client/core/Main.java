@@ -36,6 +36,7 @@ public final class Main {
     public static final Path CLIENT_CONFIG_PATH = Path.of("client.kofi");
 
     public static void main(final String[] args) {
+        StartupTimeline.start();
         Document config;
         try {
             config = KofiCodec.provider().readFile(CLIENT_CONFIG_PATH);
@@ -44,9 +45,12 @@ public final class Main {
             Log.e("could not read configuration file", e);
             config = new Document();
         }
+        StartupTimeline.mark("config");
 
         final Launcher launcher = new Launcher(config);
+        StartupTimeline.mark("launcher");
         final Login login = new Login(launcher.thread);
+        StartupTimeline.mark("target");
         launcher.run(login);
     }
 }
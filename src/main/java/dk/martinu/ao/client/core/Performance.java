@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.core;
+
+import org.jetbrains.annotations.*;
+
+import java.awt.*;
+import java.lang.invoke.VarHandle;
+
+import dk.martinu.ao.client.util.Histogram;
+import dk.martinu.ao.client.util.Resolution;
+
+import static java.lang.System.nanoTime;
+
+/**
+ * Performance statistics of a {@link GameThread}. Times spent in logic, paint
+ * and present are recorded in a {@link Histogram} for each phase, and the
+ * percentiles of each window of {@link #WINDOW_NANOS} nanoseconds are
+ * published to readers, such as the performance overlay and
+ * {@link #snapshot()}.
+ * <p>
+ * Recording never allocates or blocks. Each phase must be recorded by a
+ * single thread, but different phases can be recorded by different threads,
+ * e.g. logic by the game thread and paint by the render thread.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @since 1.0
+ */
+final class Performance {
+
+    /**
+     * Length of a window in nanoseconds.
+     */
+    static final long WINDOW_NANOS = 1_000_000_000L;
+
+    /**
+     * Times spent in {@code Target.logic()}.
+     */
+    @NotNull
+    final Phase logic = new Phase();
+    /**
+     * Times spent in {@code Target.paint()}.
+     */
+    @NotNull
+    final Phase paint = new Phase();
+    /**
+     * Times spent in {@code BufferStrategy.show()}.
+     */
+    @NotNull
+    final Phase present = new Phase();
+
+    @NotNull
+    public Color color = Color.WHITE;
+    @NotNull
+    public Font font = Font.decode("monospaced bold 14");
+    @NotNull
+    public Orientation orientation = Orientation.NORTH_WEST;
+
+    /**
+     * Lines of the overlay, updated when a window is published.
+     */
+    @NotNull
+    private final String[] lines = {"", "", "", ""};
+    /**
+     * Sum of phase versions when {@link #lines} were updated, or {@code -1}.
+     */
+    private long linesVersion = -1L;
+    /**
+     * Bounds of the overlay when it was last painted.
+     */
+    @NotNull
+    private final Rectangle bounds = new Rectangle();
+
+    /**
+     * Paints the performance overlay.
+     */
+    public void paint(@NotNull final Graphics2D g, @NotNull final Resolution r) {
+        updateLines();
+        g.setColor(color);
+        g.setFont(font);
+        final FontMetrics fm = g.getFontMetrics();
+        updateBounds(fm, r);
+        final int x = bounds.x + 10, y = bounds.y + 10 + fm.getAscent();
+        for (int i = 0; i < lines.length; i++)
+            g.drawString(lines[i], x, y + fm.getHeight() * i);
+    }
+
+    /**
+     * Adds the bounds of the overlay, before and after it is updated, to the
+     * specified damaged region.
+     *
+     * @param g       the graphics the overlay is painted with
+     * @param r       the resolution
+     * @param damage  the damaged region
+     * @param damaged {@code true} if {@code damage} holds a region to add to,
+     *                otherwise it is replaced
+     */
+    public void addBounds(@NotNull final Graphics2D g, @NotNull final Resolution r, @NotNull final Rectangle damage,
+            final boolean damaged) {
+        final boolean painted = !bounds.isEmpty();
+        if (painted) {
+            if (damaged)
+                damage.add(bounds);
+            else
+                damage.setBounds(bounds);
+        }
+        updateLines();
+        updateBounds(g.getFontMetrics(font), r);
+        if (painted || damaged)
+            damage.add(bounds);
+        else
+            damage.setBounds(bounds);
+    }
+
+    /**
+     * Returns {@code true} if the overlay has not been painted since a window
+     * was published.
+     */
+    public boolean isOutdated() {
+        return logic.sequence + paint.sequence + present.sequence != linesVersion;
+    }
+
+    /**
+     * Returns a snapshot of the most recently published window.
+     */
+    @Contract(value = "-> new", pure = true)
+    @NotNull
+    public PerformanceSnapshot snapshot() {
+        return new PerformanceSnapshot(logic.read(), paint.read(), present.read());
+    }
+
+    /**
+     * Updates the bounds of the overlay from its current lines.
+     */
+    private void updateBounds(@NotNull final FontMetrics fm, @NotNull final Resolution r) {
+        final int lineHeight = fm.getHeight(),
+                textHeight = lineHeight * lines.length + 20;
+        int textWidth = 0;
+        for (final String line : lines)
+            textWidth = Math.max(textWidth, fm.stringWidth(line));
+        textWidth += 20;
+
+        final int textX, textY;
+        switch (orientation) {
+            case NORTH_EAST -> {
+                textX = r.width - textWidth;
+                textY = 0;
+            }
+            case SOUTH_EAST -> {
+                textX = r.width - textWidth;
+                textY = r.height - textHeight;
+            }
+            case SOUTH_WEST -> {
+                textX = 0;
+                textY = r.height - textHeight;
+            }
+            default -> {
+                textX = 0;
+                textY = 0;
+            }
+        }
+        bounds.setBounds(textX, textY, textWidth, textHeight);
+    }
+
+    /**
+     * Updates the lines of the overlay if a window has been published since
+     * they were last updated.
+     */
+    private void updateLines() {
+        final long version = logic.sequence + paint.sequence + present.sequence;
+        if (version != linesVersion) {
+            final PhaseTimes logicTimes = logic.read(), paintTimes = paint.read(), presentTimes = present.read();
+            lines[0] = String.format("tps %-4d fps %-4d    p50    p90    p99    max (ms)",
+                    logicTimes.getCount(), paintTimes.getCount());
+            lines[1] = format("logic", logicTimes);
+            lines[2] = format("paint", paintTimes);
+            lines[3] = format("present", presentTimes);
+            linesVersion = version;
+        }
+    }
+
+    /**
+     * Returns an overlay line of the specified phase times in milliseconds.
+     */
+    @Contract(pure = true)
+    @NotNull
+    private String format(@NotNull final String name, @NotNull final PhaseTimes times) {
+        return String.format("%-17s %6.2f %6.2f %6.2f %6.2f", name, times.getP50() / 1_000_000.0,
+                times.getP90() / 1_000_000.0, times.getP99() / 1_000_000.0, times.getMax() / 1_000_000.0);
+    }
+
+    enum Orientation {
+        NORTH_EAST, NORTH_WEST, SOUTH_EAST, SOUTH_WEST
+    }
+
+    /**
+     * Times of one phase of the game loop. Times are recorded by a single
+     * writer thread, which publishes the percentiles of each window with a
+     * sequence lock, so readers on other threads never block the writer.
+     */
+    static final class Phase {
+
+        /**
+         * Times of the current window. Only accessed by the writer.
+         */
+        @NotNull
+        private final Histogram histogram = new Histogram();
+        /**
+         * Start of the current window, or {@code -1}. Only accessed by the
+         * writer.
+         */
+        private long windowStart = -1L;
+        /**
+         * Sequence number of published values; odd while the writer is
+         * publishing.
+         */
+        private volatile long sequence = 0L;
+        // published values of the previous window
+        private long count;
+        private long p50;
+        private long p90;
+        private long p99;
+        private long max;
+        private long published;
+
+        /**
+         * Returns the published times of the previous window, or
+         * {@link PhaseTimes#EMPTY} if no times were recorded during the
+         * previous window.
+         */
+        @NotNull
+        PhaseTimes read() {
+            long s, count, p50, p90, p99, max, published;
+            do {
+                s = sequence;
+                count = this.count;
+                p50 = this.p50;
+                p90 = this.p90;
+                p99 = this.p99;
+                max = this.max;
+                published = this.published;
+                VarHandle.loadLoadFence();
+            }
+            while ((s & 1L) != 0L || s != sequence);
+            // the writer has not recorded anything for a full window
+            if (count == 0L || nanoTime() - published >= WINDOW_NANOS * 2)
+                return PhaseTimes.EMPTY;
+            return new PhaseTimes(count, p50, p90, p99, max);
+        }
+
+        /**
+         * Records a time that started and ended at the specified timestamps.
+         * Must only be called by the writer thread.
+         *
+         * @param start start timestamp in nanoseconds
+         * @param end   end timestamp in nanoseconds
+         */
+        void record(final long start, final long end) {
+            if (windowStart == -1L)
+                windowStart = end;
+            else if (end - windowStart >= WINDOW_NANOS) {
+                publish(end);
+                histogram.reset();
+                windowStart += WINDOW_NANOS;
+                // do not publish empty windows after a pause
+                if (end - windowStart >= WINDOW_NANOS)
+                    windowStart = end;
+            }
+            histogram.record(end - start);
+        }
+
+        /**
+         * Publishes the percentiles of the current window.
+         */
+        private void publish(final long now) {
+            final long s = sequence;
+            sequence = s + 1L;
+            VarHandle.storeStoreFence();
+            count = histogram.getCount();
+            p50 = histogram.getValueAtPercentile(50.0);
+            p90 = histogram.getValueAtPercentile(90.0);
+            p99 = histogram.getValueAtPercentile(99.0);
+            max = histogram.getMax();
+            published = now;
+            sequence = s + 2L;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.core;
+
+import org.jetbrains.annotations.*;
+
+import java.beans.ConstructorProperties;
+import java.util.Objects;
+
+/**
+ * Immutable snapshot of the most recent performance window of a
+ * {@link GameThread}. The number of ticks and frames in the window is the
+ * {@link PhaseTimes#getCount() count} of the logic and paint phases.
+ * <p>
+ * Snapshots are mapped to {@code CompositeData} by the management
+ * interface, so every getter must be named by the
+ * {@link ConstructorProperties} of the constructor.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @see GameThread#getPerformance()
+ * @since 1.0
+ */
+public final class PerformanceSnapshot {
+
+    @NotNull
+    private final PhaseTimes logic;
+    @NotNull
+    private final PhaseTimes paint;
+    @NotNull
+    private final PhaseTimes present;
+
+    /**
+     * Constructs a new snapshot.
+     *
+     * @throws NullPointerException if any argument is {@code null}
+     */
+    @ConstructorProperties({"logic", "paint", "present"})
+    public PerformanceSnapshot(@NotNull final PhaseTimes logic, @NotNull final PhaseTimes paint,
+            @NotNull final PhaseTimes present) {
+        this.logic = Objects.requireNonNull(logic, "logic is null");
+        this.paint = Objects.requireNonNull(paint, "paint is null");
+        this.present = Objects.requireNonNull(present, "present is null");
+    }
+
+    /**
+     * Returns times spent in {@link dk.martinu.ao.client.targets.Target#logic}.
+     */
+    @Contract(pure = true)
+    @NotNull
+    public PhaseTimes getLogic() {
+        return logic;
+    }
+
+    /**
+     * Returns times spent in {@link dk.martinu.ao.client.targets.Target#paint}.
+     */
+    @Contract(pure = true)
+    @NotNull
+    public PhaseTimes getPaint() {
+        return paint;
+    }
+
+    /**
+     * Returns times spent showing the back buffer.
+     */
+    @Contract(pure = true)
+    @NotNull
+    public PhaseTimes getPresent() {
+        return present;
+    }
+
+    @Contract(pure = true)
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{logic=" + logic + ", paint=" + paint + ", present=" + present + "}";
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.core;
+
+import org.jetbrains.annotations.Contract;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Immutable data class for storing the distribution of time spent in one
+ * phase of the game loop (such as logic or paint) during one window of
+ * {@link Performance#WINDOW_NANOS} nanoseconds. All times are in nanoseconds.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @see PerformanceSnapshot
+ * @since 1.0
+ */
+public final class PhaseTimes {
+
+    /**
+     * Phase times of a window without any recorded values.
+     */
+    public static final PhaseTimes EMPTY = new PhaseTimes(0L, 0L, 0L, 0L, 0L);
+
+    private final long count;
+    private final long p50;
+    private final long p90;
+    private final long p99;
+    private final long max;
+
+    @ConstructorProperties({"count", "p50", "p90", "p99", "max"})
+    public PhaseTimes(final long count, final long p50, final long p90, final long p99, final long max) {
+        this.count = count;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.max = max;
+    }
+
+    /**
+     * Returns the number of times the phase was performed in the window.
+     */
+    @Contract(pure = true)
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the longest time of the window.
+     */
+    @Contract(pure = true)
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the 50th percentile (median) time of the window.
+     */
+    @Contract(pure = true)
+    public long getP50() {
+        return p50;
+    }
+
+    /**
+     * Returns the 90th percentile time of the window.
+     */
+    @Contract(pure = true)
+    public long getP90() {
+        return p90;
+    }
+
+    /**
+     * Returns the 99th percentile time of the window.
+     */
+    @Contract(pure = true)
+    public long getP99() {
+        return p99;
+    }
+
+    @Contract(pure = true)
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{count=" + count + ", p50=" + p50 + ", p90=" + p90 + ", p99=" + p99
+                + ", max=" + max + "}";
+    }
+}
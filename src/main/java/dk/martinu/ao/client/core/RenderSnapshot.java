@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.core;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import dk.martinu.ao.client.targets.RenderState;
+import dk.martinu.ao.client.targets.Target;
+import dk.martinu.ao.client.util.Resolution;
+
+/**
+ * Mutable container for everything needed to paint a single frame of a
+ * {@link Target}, written on the logic thread after each tick. Snapshots are
+ * reused; the render state is only recreated when the target changes.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @see GameThread
+ * @see RenderThread
+ * @since 1.0
+ */
+final class RenderSnapshot {
+
+    /**
+     * The target that wrote this snapshot.
+     */
+    Target target = null;
+    /**
+     * The render state of {@link #target}, or {@code null} if the target
+     * does not support render states.
+     */
+    @Nullable
+    RenderState state = null;
+    /**
+     * The resolution at the time of the snapshot.
+     */
+    Resolution resolution = null;
+    /**
+     * The scheduled time of the logic tick, in the time base of
+     * {@link System#nanoTime()}.
+     */
+    long time;
+    /**
+     * Duration of the logic tick in nanoseconds.
+     */
+    long tickNanos;
+
+    /**
+     * Returns the interpolation factor at the specified time, clamped to the
+     * range {@code [0.0F; 1.0F]}.
+     *
+     * @param now the current time, in the time base of
+     *            {@link System#nanoTime()}
+     */
+    float alpha(final long now) {
+        final long elapsed = now - time;
+        if (elapsed <= 0L)
+            return 0.0F;
+        else if (elapsed >= tickNanos)
+            return 1.0F;
+        else
+            return (float) elapsed / tickNanos;
+    }
+
+    /**
+     * Snapshots the specified target.
+     *
+     * @param target    the target
+     * @param r         the current resolution
+     * @param time      the scheduled time of the logic tick
+     * @param tickNanos the duration of the logic tick in nanoseconds
+     */
+    void write(@NotNull final Target target, @NotNull final Resolution r, final long time, final long tickNanos) {
+        if (this.target != target) {
+            this.target = target;
+            state = target.createRenderState();
+        }
+        if (state != null)
+            target.snapshot(state);
+        resolution = r;
+        this.time = time;
+        this.tickNanos = tickNanos;
+    }
+}
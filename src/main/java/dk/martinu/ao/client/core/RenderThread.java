@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.core;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.image.BufferStrategy;
+import java.util.Objects;
+import java.util.concurrent.locks.LockSupport;
+
+import dk.martinu.ao.client.util.Log;
+import dk.martinu.ao.client.util.TripleBuffer;
+
+import static java.lang.System.nanoTime;
+
+/**
+ * Thread used by {@link GameThread} to paint frames when logic and painting
+ * run on separate threads. The render thread paints the most recent
+ * {@link RenderSnapshot} published by the game thread, at the configured
+ * frame rate or as fast as the buffer strategy allows.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @see GameThread#setSeparateRenderThread(boolean)
+ * @since 1.0
+ */
+final class RenderThread extends Thread {
+
+    /**
+     * The game thread that owns this render thread.
+     */
+    @NotNull
+    private final GameThread thread;
+    /**
+     * The buffer strategy to paint frames with.
+     */
+    @NotNull
+    private final BufferStrategy bs;
+    /**
+     * Snapshots published by the game thread.
+     */
+    @NotNull
+    private final TripleBuffer<RenderSnapshot> snapshots;
+
+    /**
+     * Constructs a new render thread.
+     *
+     * @param thread    the owning game thread
+     * @param bs        the buffer strategy to paint frames with
+     * @param snapshots snapshots published by {@code thread}
+     * @throws NullPointerException if any argument is {@code null}
+     */
+    RenderThread(@NotNull final GameThread thread, @NotNull final BufferStrategy bs,
+            @NotNull final TripleBuffer<RenderSnapshot> snapshots) {
+        this.thread = Objects.requireNonNull(thread, "thread is null");
+        this.bs = Objects.requireNonNull(bs, "bs is null");
+        this.snapshots = Objects.requireNonNull(snapshots, "snapshots is null");
+        setName(thread.getName() + "-render");
+    }
+
+    @Override
+    public void run() {
+        RenderSnapshot snapshot;
+        long frameNanos;
+        long timestamp;
+        // deadline of the next frame if the frame rate is capped
+        long deadline = nanoTime();
+
+        while (!thread.isShutdown()) {
+
+            deadline += thread.awaitUnpaused();
+
+            // nothing is visible while iconified
+            if (thread.isIconified()) {
+                LockSupport.parkNanos(10_000_000L);
+                deadline = nanoTime();
+                continue;
+            }
+
+            frameNanos = thread.getFrameNanos();
+            if (frameNanos > 0L) {
+                thread.getTickScheduler().awaitDeadline(deadline);
+                // waiting ends early when interrupted, which is treated as a shutdown
+                if (Thread.interrupted()) {
+                    Log.w("render thread interrupted, shutting down");
+                    thread.shutdown();
+                    continue;
+                }
+                deadline += frameNanos;
+                // do not try to catch up on missed frames
+                if ((timestamp = nanoTime()) - deadline > 0L) {
+                    thread.addSkippedFrames((timestamp - deadline) / frameNanos);
+                    deadline = timestamp;
+                }
+            }
+
+            snapshot = snapshots.acquire();
+            // nothing to paint until the first logic tick, or nothing damaged
+            if (snapshot == null || !thread.paintFrame(bs, snapshot, snapshot.alpha(nanoTime())))
+                LockSupport.parkNanos(1_000_000L);
+        }
+    }
+}
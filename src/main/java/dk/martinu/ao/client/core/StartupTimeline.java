@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.core;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Objects;
+
+import dk.martinu.ao.client.util.Log;
+
+import static java.lang.System.nanoTime;
+
+/**
+ * Records the phases of starting the client and logs the time to first
+ * frame, broken down by phase. The first phase, {@code jvm}, is the time from
+ * when the JVM started until {@link #start()} is called; each subsequent
+ * phase ends when it is {@link #mark(String) marked}.
+ * <p>
+ * This implementation is threadsafe; phases can be marked by the main thread
+ * and the game thread.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @since 1.0
+ */
+final class StartupTimeline {
+
+    /**
+     * Names of the phases that have been marked.
+     */
+    private static final ArrayList<String> phases = new ArrayList<>();
+    /**
+     * Durations in nanoseconds of the phases that have been marked.
+     */
+    private static final ArrayList<Long> durations = new ArrayList<>();
+    /**
+     * Timestamp of when the previous phase was marked, or {@code 0} if the
+     * timeline has not been started.
+     */
+    private static long previousNanos = 0L;
+    /**
+     * {@code true} if the timeline has been reported.
+     */
+    private static boolean reported = false;
+
+    /**
+     * Marks the end of the specified phase. Does nothing if the timeline has
+     * not been started or has already been reported.
+     *
+     * @param phase the name of the phase
+     * @throws NullPointerException if {@code phase} is {@code null}
+     */
+    static synchronized void mark(@NotNull final String phase) {
+        Objects.requireNonNull(phase, "phase is null");
+        if (previousNanos == 0L || reported)
+            return;
+        final long now = nanoTime();
+        phases.add(phase);
+        durations.add(now - previousNanos);
+        previousNanos = now;
+    }
+
+    /**
+     * Marks the end of the specified phase and logs the timeline. Does nothing
+     * if the timeline has not been started or has already been reported.
+     *
+     * @param phase the name of the last phase
+     * @throws NullPointerException if {@code phase} is {@code null}
+     */
+    static synchronized void report(@NotNull final String phase) {
+        mark(phase);
+        if (previousNanos == 0L || reported)
+            return;
+        reported = true;
+        long total = 0L;
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < phases.size(); i++) {
+            final long duration = durations.get(i);
+            total += duration;
+            if (i > 0)
+                sb.append(", ");
+            sb.append(phases.get(i)).append('=').append(duration / 1_000_000L).append(" ms");
+        }
+        Log.i("time to %s %d ms [%s]", phase, total / 1_000_000L, sb);
+    }
+
+    /**
+     * Starts the timeline. The time since the JVM started is recorded as the
+     * {@code jvm} phase. Does nothing if the timeline has already been
+     * started.
+     */
+    static synchronized void start() {
+        if (previousNanos != 0L)
+            return;
+        previousNanos = nanoTime();
+        phases.add("jvm");
+        durations.add(ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000L);
+    }
+}
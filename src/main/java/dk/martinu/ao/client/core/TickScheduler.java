@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.core;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A tick scheduler is used by {@link GameThread} to wait for the deadline of
+ * the next tick. Deadlines are expressed in the same time base as
+ * {@link System#nanoTime()}.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @see GameThread#setTickScheduler(TickScheduler)
+ * @since 1.0
+ */
+public interface TickScheduler {
+
+    /**
+     * The default amount of time in nanoseconds that a
+     * {@link #hybrid() hybrid} scheduler spin-waits before a deadline.
+     */
+    long DEFAULT_SPIN_NANOS = 1_000_000L;
+
+    /**
+     * Returns a scheduler that spin-waits until the deadline has passed. This
+     * scheduler is the most precise, but keeps a processor core fully
+     * occupied.
+     */
+    @Contract(pure = true)
+    @NotNull
+    static TickScheduler busy() {
+        return BusyTickScheduler.INSTANCE;
+    }
+
+    /**
+     * Returns a scheduler that parks the calling thread for most of the
+     * remaining time and only spin-waits the last
+     * {@link #DEFAULT_SPIN_NANOS} before the deadline.
+     */
+    @Contract(value = "-> new", pure = true)
+    @NotNull
+    static TickScheduler hybrid() {
+        return new HybridTickScheduler(DEFAULT_SPIN_NANOS);
+    }
+
+    /**
+     * Returns a scheduler that parks the calling thread for most of the
+     * remaining time and only spin-waits the specified amount of nanoseconds
+     * before the deadline.
+     *
+     * @param spinNanos the amount of time to spin-wait in nanoseconds
+     * @throws IllegalArgumentException if {@code spinNanos} is less than
+     *                                  {@code 0}
+     */
+    @Contract(value = "_ -> new", pure = true)
+    @NotNull
+    static TickScheduler hybrid(final long spinNanos) {
+        return new HybridTickScheduler(spinNanos);
+    }
+
+    /**
+     * Returns a scheduler that does not wait for deadlines. The thread
+     * performs one logic tick and paints one frame at a time, as fast as
+     * possible; ticks are not tied to wall-clock time.
+     *
+     * @see #isPaced()
+     */
+    @Contract(pure = true)
+    @NotNull
+    static TickScheduler none() {
+        return UnpacedTickScheduler.INSTANCE;
+    }
+
+    /**
+     * Blocks the calling thread until the specified deadline has passed. This
+     * method returns immediately if the deadline has already passed.
+     * <p>
+     * If the calling thread is interrupted, this method can return early and
+     * leaves the interrupt status set. The caller must clear it, since parking
+     * returns immediately while it is set. {@link GameThread} and its render
+     * thread clear it and treat it as a request to shut down.
+     *
+     * @param deadline the deadline, in the time base of
+     *                 {@link System#nanoTime()}
+     */
+    void awaitDeadline(final long deadline);
+
+    /**
+     * Returns {@code true} if ticks are paced by deadlines. If {@code false},
+     * the thread performs ticks back to back without waiting, and without
+     * catching up on or dropping ticks.
+     */
+    @Contract(pure = true)
+    default boolean isPaced() {
+        return true;
+    }
+}
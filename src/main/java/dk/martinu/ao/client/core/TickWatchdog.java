@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.core;
+
+import org.jetbrains.annotations.*;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.locks.LockSupport;
+
+import dk.martinu.ao.client.targets.Target;
+import dk.martinu.ao.client.util.Log;
+
+import static java.lang.System.nanoTime;
+
+/**
+ * Thread used by {@link GameThread} to detect logic ticks and frames that
+ * take longer than a threshold, while they are still running. When a phase
+ * overruns, the stack trace of the thread running it is sampled a few times
+ * and logged together with the target and name of the phase, which shows
+ * where the time went in hitches that are too rare to catch in a profiler.
+ * <p>
+ * The game thread and the thread that paints frames each mark the phase they
+ * are in with a {@link Probe}. Each overrun phase is reported once.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @see GameThread#setWatchdogThreshold(long)
+ * @since 1.0
+ */
+final class TickWatchdog extends Thread {
+
+    /**
+     * Number of stack traces sampled from an overrun phase.
+     */
+    static final int SAMPLES = 4;
+    /**
+     * Maximum number of stack frames logged per sample.
+     */
+    static final int MAX_DEPTH = 32;
+
+    /**
+     * The game thread that owns this watchdog.
+     */
+    @NotNull
+    private final GameThread thread;
+    /**
+     * Probes to check for overruns.
+     */
+    @NotNull
+    private final Probe[] probes;
+    /**
+     * Time in nanoseconds a phase can run before it is reported.
+     */
+    private final long thresholdNanos;
+    /**
+     * Time in nanoseconds between checks, and between samples.
+     */
+    private final long intervalNanos;
+
+    /**
+     * Constructs a new watchdog that checks the specified probes.
+     *
+     * @param thread         the owning game thread
+     * @param thresholdNanos time in nanoseconds a phase can run before it is
+     *                       reported
+     * @param probes         the probes to check
+     * @throws NullPointerException     if {@code thread} or {@code probes} is
+     *                                  {@code null}
+     * @throws IllegalArgumentException if {@code thresholdNanos} is less than
+     *                                  or equal to {@code 0}
+     */
+    TickWatchdog(@NotNull final GameThread thread, final long thresholdNanos, @NotNull final Probe... probes) {
+        this.thread = Objects.requireNonNull(thread, "thread is null");
+        this.probes = Objects.requireNonNull(probes, "probes is null");
+        if (thresholdNanos <= 0L)
+            throw new IllegalArgumentException("thresholdNanos must be greater than 0");
+        this.thresholdNanos = thresholdNanos;
+        intervalNanos = Math.max(thresholdNanos / SAMPLES, 1_000_000L);
+        setName(thread.getName() + "-watchdog");
+        setDaemon(true);
+        // must be able to run while the game thread hogs the CPU
+        setPriority(Thread.MAX_PRIORITY);
+    }
+
+    @Override
+    public void run() {
+        while (!thread.isShutdown()) {
+            for (final Probe probe : probes)
+                check(probe);
+            LockSupport.parkNanos(intervalNanos);
+        }
+    }
+
+    /**
+     * Reports the phase of the specified probe if it has overrun and has not
+     * been reported already.
+     */
+    private void check(@NotNull final Probe probe) {
+        final int sequence = probe.sequence;
+        // idle, or already reported
+        if ((sequence & 1) == 0 || sequence == probe.reported)
+            return;
+        final Thread runner = probe.thread;
+        final String phase = probe.phase;
+        final String target = probe.target;
+        final long start = probe.start;
+        if (runner == null || nanoTime() - start < thresholdNanos || probe.sequence != sequence)
+            return;
+        probe.reported = sequence;
+
+        final StringBuilder sb = new StringBuilder();
+        StackTraceElement[] previous = null;
+        int samples = 0;
+        while (samples < SAMPLES && probe.sequence == sequence) {
+            if (samples > 0)
+                LockSupport.parkNanos(intervalNanos);
+            final StackTraceElement[] trace = runner.getStackTrace();
+            // the phase ended while sampling
+            if (probe.sequence != sequence)
+                break;
+            samples++;
+            sb.append("\nsample ").append(samples).append(" at ")
+                    .append((nanoTime() - start) / 1_000_000L).append(" ms");
+            if (Arrays.equals(trace, previous))
+                sb.append(", same as previous sample");
+            else
+                for (int i = 0; i < Math.min(trace.length, MAX_DEPTH); i++)
+                    sb.append("\n\tat ").append(trace[i]);
+            previous = trace;
+        }
+        final long elapsed = (nanoTime() - start) / 1_000_000L;
+        Log.w("%s of target %s has run for %d ms on thread %s [threshold=%d ms, samples=%d]%s", phase, target,
+                elapsed, runner.getName(), thresholdNanos / 1_000_000L, samples, sb);
+    }
+
+    /**
+     * Marks the phase a thread is in, such that a watchdog can detect when it
+     * overruns. A probe must only be written by one thread at a time, but can
+     * be passed between threads, e.g. when painting moves to a render thread.
+     * Writing to a probe is cheap, so probes are always written to, even if no
+     * watchdog is checking them.
+     */
+    static final class Probe {
+
+        /**
+         * Incremented when a phase begins and ends; odd while a phase is
+         * running.
+         */
+        private volatile int sequence = 0;
+        /**
+         * The thread running the current phase.
+         */
+        @Nullable
+        private volatile Thread thread = null;
+        /**
+         * Name of the current phase.
+         */
+        private volatile String phase = null;
+        /**
+         * Class name of the target of the current phase.
+         */
+        private volatile String target = null;
+        /**
+         * Start time of the current phase in nanoseconds.
+         */
+        private volatile long start = 0L;
+        /**
+         * Sequence of the last reported phase, only accessed by the watchdog.
+         */
+        private int reported = 0;
+
+        /**
+         * Marks the beginning of a phase of the specified target, run by the
+         * calling thread.
+         */
+        void begin(@NotNull final String phase, @NotNull final Target target) {
+            thread = Thread.currentThread();
+            this.phase = phase;
+            this.target = target.getClass().getName();
+            start = nanoTime();
+            //noinspection NonAtomicOperationOnVolatileField
+            sequence++;
+        }
+
+        /**
+         * Marks the end of the current phase.
+         */
+        void end() {
+            //noinspection NonAtomicOperationOnVolatileField
+            sequence++;
+        }
+    }
+}
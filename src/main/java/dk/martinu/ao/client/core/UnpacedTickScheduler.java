@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.core;
+
+/**
+ * Tick scheduler that does not wait at all. The game thread performs one
+ * logic tick and paints one frame per iteration, as fast as possible, e.g.
+ * to replay recorded input as a benchmark.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @see TickScheduler#none()
+ * @since 1.0
+ */
+final class UnpacedTickScheduler implements TickScheduler {
+
+    /**
+     * Shared instance; the scheduler is stateless.
+     */
+    static final UnpacedTickScheduler INSTANCE = new UnpacedTickScheduler();
+
+    private UnpacedTickScheduler() { }
+
+    @Override
+    public void awaitDeadline(final long deadline) { }
+
+    @Override
+    public boolean isPaced() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "none";
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.event;
+
+import org.jetbrains.annotations.*;
+
+import java.awt.Container;
+import java.awt.Insets;
+import java.awt.event.*;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+import dk.martinu.ao.client.util.Log;
+
+/**
+ * Records key and mouse events, stamped with the logic tick they arrived
+ * before, into a compact binary file that can be replayed with
+ * {@link InputReplay}. The recorder is added as a listener to the window
+ * that dispatches events to targets, and must be added before the target so
+ * that events are stamped before they are buffered.
+ * <p>
+ * Mouse coordinates are recorded relative to the content area of the
+ * window, i.e. without insets, so they can be replayed headless at the same
+ * resolution. Events that arrive while a tick is running may be processed in
+ * that tick in the recorded session, but in the next tick when replayed;
+ * replays of the same file are deterministic.
+ * <p>
+ * The file starts with a header of the {@link #MAGIC magic number}, the
+ * {@link #VERSION version} and the width and height of the content area,
+ * which is written by {@link #writeHeader(int, int)} once the resolution of
+ * the first logic tick is known. Events recorded before that are held in
+ * memory. Then follows a record for each event: the number of ticks since the
+ * previous record, the AWT event ID and extended modifiers, and the fields of
+ * the event. Integers are written as variable-length quantities, such that
+ * most records are 6 to 10 bytes.
+ * <p>
+ * This implementation is threadsafe. Write errors are logged and stop the
+ * recording.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @see InputReplay
+ * @since 1.0
+ */
+public final class InputRecorder implements KeyListener, MouseListener, MouseMotionListener, MouseWheelListener,
+        Closeable {
+
+    /**
+     * Magic number at the start of input recordings.
+     */
+    public static final int MAGIC = 'A' << 24 | 'O' << 16 | 'I' << 8 | 'R';
+    /**
+     * Version of the recording format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Writes the specified value as an unsigned variable-length quantity, 7
+     * bits per byte with the high bit set on all but the last byte.
+     */
+    static void writeVarLong(@NotNull final DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0L) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Writes the specified signed value as a zigzag encoded variable-length
+     * quantity, such that values close to {@code 0} use few bytes.
+     */
+    static void writeZigZag(@NotNull final DataOutput out, final int value) throws IOException {
+        writeVarLong(out, (value << 1 ^ value >> 31) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Stream records are written to, or {@code null} if the recorder is
+     * closed. This is {@link #pending} until the header is written, and
+     * {@link #file} after.
+     */
+    @Nullable
+    private DataOutputStream out;
+    /**
+     * Stream of the recording file.
+     */
+    @NotNull
+    private final DataOutputStream file;
+    /**
+     * Records written before the header, or {@code null} if the header has
+     * been written.
+     */
+    @Nullable
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    /**
+     * Supplies the number of logic ticks performed.
+     */
+    @NotNull
+    private final LongSupplier ticks;
+    /**
+     * Tick of the previous record.
+     */
+    private long previousTick = 0L;
+    /**
+     * Number of recorded events.
+     */
+    private long count = 0L;
+
+    /**
+     * Creates a new recording file at the specified path, overwriting any
+     * existing file.
+     *
+     * @param path  the path of the file
+     * @param ticks supplies the number of logic ticks performed
+     * @throws NullPointerException if {@code path} or {@code ticks} is
+     *                              {@code null}
+     * @throws IOException          if the file could not be created
+     * @see #writeHeader(int, int)
+     */
+    public InputRecorder(@NotNull final Path path, @NotNull final LongSupplier ticks) throws IOException {
+        Objects.requireNonNull(path, "path is null");
+        this.ticks = Objects.requireNonNull(ticks, "ticks is null");
+        file = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+        out = new DataOutputStream(pending);
+        previousTick = ticks.getAsLong();
+    }
+
+    /**
+     * Closes the recording. Does nothing if it is already closed. If the
+     * header has not been written, it is written with a resolution of
+     * {@code 0x0}.
+     */
+    @Override
+    public synchronized void close() {
+        if (out != null)
+            try {
+                if (pending != null) {
+                    Log.w("input recording closed before the first tick");
+                    writeHeader(0, 0);
+                }
+                file.close();
+                Log.i("recorded %d input events", count);
+            }
+            catch (final IOException e) {
+                Log.e("could not close input recording", e);
+            }
+            finally {
+                out = null;
+            }
+    }
+
+    /**
+     * Returns the number of recorded events.
+     */
+    @Contract(pure = true)
+    public synchronized long getCount() {
+        return count;
+    }
+
+    @Override
+    public void keyPressed(@NotNull final KeyEvent event) {
+        record(event);
+    }
+
+    @Override
+    public void keyReleased(@NotNull final KeyEvent event) {
+        record(event);
+    }
+
+    @Override
+    public void keyTyped(@NotNull final KeyEvent event) {
+        record(event);
+    }
+
+    @Override
+    public void mouseClicked(@NotNull final MouseEvent event) {
+        record(event);
+    }
+
+    @Override
+    public void mouseDragged(@NotNull final MouseEvent event) {
+        record(event);
+    }
+
+    @Override
+    public void mouseEntered(@NotNull final MouseEvent event) {
+        record(event);
+    }
+
+    @Override
+    public void mouseExited(@NotNull final MouseEvent event) {
+        record(event);
+    }
+
+    @Override
+    public void mouseMoved(@NotNull final MouseEvent event) {
+        record(event);
+    }
+
+    @Override
+    public void mousePressed(@NotNull final MouseEvent event) {
+        record(event);
+    }
+
+    @Override
+    public void mouseReleased(@NotNull final MouseEvent event) {
+        record(event);
+    }
+
+    @Override
+    public void mouseWheelMoved(@NotNull final MouseWheelEvent event) {
+        record(event);
+    }
+
+    /**
+     * Writes the header of the recording with the specified resolution,
+     * followed by the events recorded so far. Does nothing if the header has
+     * already been written or the recorder is closed. This method is called
+     * by the game thread at the first logic tick, when the content area of
+     * the window has been laid out.
+     *
+     * @param width  the width of the content area of the window
+     * @param height the height of the content area of the window
+     */
+    public synchronized void writeHeader(final int width, final int height) {
+        if (out == null || pending == null)
+            return;
+        try {
+            file.writeInt(MAGIC);
+            file.writeByte(VERSION);
+            writeVarLong(file, width);
+            writeVarLong(file, height);
+            pending.writeTo(file);
+            pending = null;
+            out = file;
+        }
+        catch (final IOException e) {
+            Log.e("could not record input, recording stopped", e);
+            try {
+                file.close();
+            }
+            catch (final IOException ignored) {
+            }
+            pending = null;
+            out = null;
+        }
+    }
+
+    /**
+     * Writes a record of the specified event.
+     */
+    private synchronized void record(@NotNull final InputEvent event) {
+        if (out == null)
+            return;
+        try {
+            final long tick = ticks.getAsLong();
+            writeVarLong(out, tick - previousTick);
+            previousTick = tick;
+            writeVarLong(out, event.getID());
+            writeVarLong(out, event.getModifiersEx());
+            if (event instanceof KeyEvent e) {
+                writeVarLong(out, e.getKeyCode());
+                writeVarLong(out, e.getKeyChar());
+                writeVarLong(out, e.getKeyLocation());
+            }
+            else if (event instanceof MouseEvent e) {
+                final Insets insets = e.getComponent() instanceof Container c ? c.getInsets() : null;
+                writeZigZag(out, insets != null ? e.getX() - insets.left : e.getX());
+                writeZigZag(out, insets != null ? e.getY() - insets.top : e.getY());
+                writeVarLong(out, e.getButton());
+                writeVarLong(out, e.getClickCount());
+                if (e instanceof MouseWheelEvent w) {
+                    writeVarLong(out, w.getScrollType());
+                    writeVarLong(out, w.getScrollAmount());
+                    writeZigZag(out, w.getWheelRotation());
+                    out.writeDouble(w.getPreciseWheelRotation());
+                }
+            }
+            count++;
+        }
+        catch (final IOException e) {
+            Log.e("could not record input, recording stopped", e);
+            try {
+                file.close();
+            }
+            catch (final IOException ignored) {
+            }
+            out = null;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.event;
+
+import org.jetbrains.annotations.*;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.event.*;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Objects;
+
+import static dk.martinu.ao.client.event.InputRecorder.MAGIC;
+import static dk.martinu.ao.client.event.InputRecorder.VERSION;
+
+/**
+ * Replays key and mouse events recorded by an {@link InputRecorder}. The
+ * recording is read into memory when the replay is created, and events are
+ * created anew when they are dispatched, so the same replay can be
+ * dispatched any number of times after being {@link #rewind() rewound}.
+ * <p>
+ * Events are dispatched to a target at the start of the tick they were
+ * recorded before, by calling the target's listener methods on the calling
+ * thread, as if they had been dispatched by AWT.
+ * <p>
+ * <b>NOTE:</b> this implementation is not threadsafe, and must only be
+ * used by the game thread.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @see InputRecorder
+ * @since 1.0
+ */
+public final class InputReplay {
+
+    /**
+     * Reads the recording file at the specified path.
+     *
+     * @param path the path to read from
+     * @return a new replay
+     * @throws NullPointerException if {@code path} is {@code null}
+     * @throws IOException          if an error occurred when reading from the
+     *                              path, or if the file is not a valid
+     *                              recording
+     */
+    @Contract(value = "_ -> new", pure = true)
+    @NotNull
+    public static InputReplay readFrom(@NotNull final Path path) throws IOException {
+        Objects.requireNonNull(path, "path is null");
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC)
+                throw new IOException("not an input recording {" + path + "}");
+            final int version = in.readUnsignedByte();
+            if (version != VERSION)
+                throw new IOException("unsupported input recording version {" + version + "}");
+            final int width = (int) readVarLong(in);
+            final int height = (int) readVarLong(in);
+
+            final ArrayList<Record> records = new ArrayList<>();
+            long tick = 0L;
+            int b;
+            // end of file is only valid at the start of a record
+            while ((b = in.read()) != -1) {
+                tick += readVarLong(in, b);
+                final Record record = new Record(tick, (int) readVarLong(in), (int) readVarLong(in));
+                if (record.id >= KeyEvent.KEY_FIRST && record.id <= KeyEvent.KEY_LAST) {
+                    record.keyCode = (int) readVarLong(in);
+                    record.keyChar = (char) readVarLong(in);
+                    record.keyLocation = (int) readVarLong(in);
+                }
+                else if (record.id >= MouseEvent.MOUSE_FIRST && record.id <= MouseEvent.MOUSE_LAST) {
+                    record.x = readZigZag(in);
+                    record.y = readZigZag(in);
+                    record.button = (int) readVarLong(in);
+                    record.clickCount = (int) readVarLong(in);
+                    if (record.id == MouseEvent.MOUSE_WHEEL) {
+                        record.scrollType = (int) readVarLong(in);
+                        record.scrollAmount = (int) readVarLong(in);
+                        record.wheelRotation = readZigZag(in);
+                        record.preciseWheelRotation = in.readDouble();
+                    }
+                }
+                else
+                    throw new IOException("invalid event ID {" + record.id + "} in input recording");
+                records.add(record);
+            }
+            return new InputReplay(width, height, records.toArray(new Record[0]));
+        }
+    }
+
+    /**
+     * Reads an unsigned variable-length quantity.
+     *
+     * @see InputRecorder#writeVarLong(DataOutput, long)
+     */
+    private static long readVarLong(@NotNull final DataInput in) throws IOException {
+        return readVarLong(in, in.readUnsignedByte());
+    }
+
+    /**
+     * Reads an unsigned variable-length quantity, starting with the specified
+     * byte that has already been read.
+     */
+    private static long readVarLong(@NotNull final DataInput in, int b) throws IOException {
+        long value = 0L;
+        int shift = 0;
+        while ((b & 0x80) != 0) {
+            if (shift > 56)
+                throw new IOException("malformed variable-length quantity in input recording");
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+            b = in.readUnsignedByte();
+        }
+        return value | (long) b << shift;
+    }
+
+    /**
+     * Reads a zigzag encoded variable-length quantity.
+     *
+     * @see InputRecorder#writeZigZag(DataOutput, int)
+     */
+    private static int readZigZag(@NotNull final DataInput in) throws IOException {
+        final int value = (int) readVarLong(in);
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    /**
+     * Width of the content area of the recorded window.
+     */
+    public final int width;
+    /**
+     * Height of the content area of the recorded window.
+     */
+    public final int height;
+    /**
+     * Source of dispatched events.
+     */
+    @NotNull
+    private final Component source = new Container();
+    /**
+     * The recorded events, ordered by tick.
+     */
+    @NotNull
+    private final Record[] records;
+    /**
+     * Index of the next record to dispatch.
+     */
+    private int index = 0;
+
+    private InputReplay(final int width, final int height, @NotNull final Record[] records) {
+        this.width = width;
+        this.height = height;
+        this.records = records;
+    }
+
+    /**
+     * Dispatches all events that were recorded before the specified tick, and
+     * have not already been dispatched, to the specified target.
+     *
+     * @param tick   the tick that is about to be performed
+     * @param target the target to dispatch to
+     * @return the number of dispatched events
+     * @throws NullPointerException if {@code target} is {@code null}
+     */
+    public <T extends KeyListener & MouseListener & MouseMotionListener & MouseWheelListener> int dispatch(
+            final long tick, @NotNull final T target) {
+        Objects.requireNonNull(target, "target is null");
+        final int start = index;
+        while (index < records.length && records[index].tick <= tick) {
+            final Record r = records[index++];
+            final long when = System.currentTimeMillis();
+            switch (r.id) {
+                case KeyEvent.KEY_PRESSED -> target.keyPressed(r.createKeyEvent(source, when));
+                case KeyEvent.KEY_RELEASED -> target.keyReleased(r.createKeyEvent(source, when));
+                case KeyEvent.KEY_TYPED -> target.keyTyped(r.createKeyEvent(source, when));
+                case MouseEvent.MOUSE_CLICKED -> target.mouseClicked(r.createMouseEvent(source, when));
+                case MouseEvent.MOUSE_PRESSED -> target.mousePressed(r.createMouseEvent(source, when));
+                case MouseEvent.MOUSE_RELEASED -> target.mouseReleased(r.createMouseEvent(source, when));
+                case MouseEvent.MOUSE_ENTERED -> target.mouseEntered(r.createMouseEvent(source, when));
+                case MouseEvent.MOUSE_EXITED -> target.mouseExited(r.createMouseEvent(source, when));
+                case MouseEvent.MOUSE_MOVED -> target.mouseMoved(r.createMouseEvent(source, when));
+                case MouseEvent.MOUSE_DRAGGED -> target.mouseDragged(r.createMouseEvent(source, when));
+                case MouseEvent.MOUSE_WHEEL -> target.mouseWheelMoved(new MouseWheelEvent(source, r.id, when,
+                        r.modifiers, r.x, r.y, r.x, r.y, r.clickCount, false, r.scrollType, r.scrollAmount,
+                        r.wheelRotation, r.preciseWheelRotation));
+                default -> { }
+            }
+        }
+        return index - start;
+    }
+
+    /**
+     * Returns the number of recorded events.
+     */
+    @Contract(pure = true)
+    public int getEventCount() {
+        return records.length;
+    }
+
+    /**
+     * Returns the tick of the last recorded event, or {@code 0} if there are
+     * no events.
+     */
+    @Contract(pure = true)
+    public long getLastTick() {
+        return records.length != 0 ? records[records.length - 1].tick : 0L;
+    }
+
+    /**
+     * Returns {@code true} if all events have been dispatched.
+     */
+    @Contract(pure = true)
+    public boolean isDone() {
+        return index == records.length;
+    }
+
+    /**
+     * Rewinds this replay, such that all events are dispatched again.
+     */
+    public void rewind() {
+        index = 0;
+    }
+
+    /**
+     * A recorded event.
+     */
+    private static final class Record {
+
+        final long tick;
+        final int id;
+        final int modifiers;
+        int keyCode;
+        char keyChar;
+        int keyLocation;
+        int x;
+        int y;
+        int button;
+        int clickCount;
+        int scrollType;
+        int scrollAmount;
+        int wheelRotation;
+        double preciseWheelRotation;
+
+        Record(final long tick, final int id, final int modifiers) {
+            this.tick = tick;
+            this.id = id;
+            this.modifiers = modifiers;
+        }
+
+        @Contract(value = "_, _ -> new", pure = true)
+        @NotNull
+        KeyEvent createKeyEvent(@NotNull final Component source, final long when) {
+            return new KeyEvent(source, id, when, modifiers, keyCode, keyChar, keyLocation);
+        }
+
+        @Contract(value = "_, _ -> new", pure = true)
+        @NotNull
+        MouseEvent createMouseEvent(@NotNull final Component source, final long when) {
+            return new MouseEvent(source, id, when, modifiers, x, y, x, y, clickCount, false, button);
+        }
+    }
+}
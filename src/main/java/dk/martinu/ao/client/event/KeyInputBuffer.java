@@ -143,6 +143,14 @@ public final class KeyInputBuffer {
         index += inputArray.length;
     }
 
+    /**
+     * Returns the number of key input currently buffered and waiting to be
+     * processed.
+     */
+    public synchronized int getSize() {
+        return index;
+    }
+
     /**
      * Processes all {@link KeyInput} objects added to this buffer. For a given
      * event, this method will process each key input for that event in order
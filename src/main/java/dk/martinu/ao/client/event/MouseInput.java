@@ -96,6 +96,25 @@ public final class MouseInput {
         mouseWheelMoved = event;
     }
 
+    /**
+     * Returns the number of mouse events currently held and waiting to be
+     * processed. At most one event of each kind is held.
+     */
+    public synchronized int getPendingCount() {
+        int count = 0;
+        if (mouseDragged != null)
+            count++;
+        if (mouseMoved != null)
+            count++;
+        if (mousePressed != null)
+            count++;
+        if (mouseReleased != null)
+            count++;
+        if (mouseWheelMoved != null)
+            count++;
+        return count;
+    }
+
     /**
      * Processes all events that have been stored. The corresponding
      * {@link MouseAction} method is called for each event. The event for each
@@ -112,8 +131,8 @@ public final class MouseInput {
 
         synchronized (this) {
             if (point != null) {
-                x = point.x - r.offsetX;
-                y = point.y - r.offsetY;
+                x = r.translateX(point.x);
+                y = r.translateY(point.y);
                 point = null;
             }
             mouseDragged = this.mouseDragged;
@@ -129,24 +148,37 @@ public final class MouseInput {
         }
 
         if (mouseDragged != null) {
-            mouseDragged.translatePoint(-r.offsetX, -r.offsetY);
+            translate(mouseDragged, r);
             action.mouseDragged(mouseDragged);
         }
         if (mouseMoved != null) {
-            mouseMoved.translatePoint(-r.offsetX, -r.offsetY);
+            translate(mouseMoved, r);
             action.mouseMoved(mouseMoved);
         }
         if (mousePressed != null) {
-            mousePressed.translatePoint(-r.offsetX, -r.offsetY);
+            translate(mousePressed, r);
             action.mousePressed(mousePressed);
         }
         if (mouseReleased != null) {
-            mouseReleased.translatePoint(-r.offsetX, -r.offsetY);
+            translate(mouseReleased, r);
             action.mouseReleased(mouseReleased);
         }
         if (mouseWheelMoved != null) {
-            mouseWheelMoved.translatePoint(-r.offsetX, -r.offsetY);
+            translate(mouseWheelMoved, r);
             action.mouseWheelMoved(mouseWheelMoved);
         }
     }
+
+    /**
+     * Translates the point of the specified event to the coordinate space of
+     * the specified resolution.
+     *
+     * @see Resolution#translateX(int)
+     * @see Resolution#translateY(int)
+     */
+    private static void translate(@NotNull final MouseEvent event, @NotNull final Resolution r) {
+        final int x = event.getX();
+        final int y = event.getY();
+        event.translatePoint(r.translateX(x) - x, r.translateY(y) - y);
+    }
 }
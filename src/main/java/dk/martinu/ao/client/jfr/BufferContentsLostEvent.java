@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event for a frame that must be painted again, because the
+ * contents of the back buffer were restored or lost.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @since 1.0
+ */
+@Name(BufferContentsLostEvent.NAME)
+@Label("Buffer Contents Lost")
+@Category({"Abaddon Online", "Game Loop"})
+@Description("A frame is painted again because the back buffer was restored or lost")
+@StackTrace(false)
+public final class BufferContentsLostEvent extends Event {
+
+    public static final String NAME = "dk.martinu.ao.client.BufferContentsLost";
+
+    @Label("Restored")
+    @Description("True if the contents were restored while painting, false if lost after showing")
+    public boolean restored;
+}
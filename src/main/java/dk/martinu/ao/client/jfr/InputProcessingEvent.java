@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event for processing buffered input events during a logic
+ * tick.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @since 1.0
+ */
+@Name(InputProcessingEvent.NAME)
+@Label("Input Processing")
+@Category({"Abaddon Online", "Input"})
+@Description("Processing of buffered key or mouse input")
+@StackTrace(false)
+public final class InputProcessingEvent extends Event {
+
+    public static final String NAME = "dk.martinu.ao.client.InputProcessing";
+    public static final String KEY = "key";
+    public static final String MOUSE = "mouse";
+
+    @Label("Target")
+    @Description("Class name of the target")
+    public String target;
+    @Label("Device")
+    @Description("The input device, \"key\" or \"mouse\"")
+    public String device;
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event for painting a single frame, spanning the call to
+ * {@code Target.paint()}.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @since 1.0
+ */
+@Name(PaintEvent.NAME)
+@Label("Paint")
+@Category({"Abaddon Online", "Game Loop"})
+@Description("Painting of one frame by the current target")
+@StackTrace(false)
+public final class PaintEvent extends Event {
+
+    public static final String NAME = "dk.martinu.ao.client.Paint";
+
+    @Label("Target")
+    @Description("Class name of the target")
+    public String target;
+    @Label("Quality Profile")
+    public String quality;
+    @Label("Partial")
+    @Description("True if only the damaged region was painted")
+    public boolean partial;
+    @Label("Interpolation")
+    @Description("Interpolation factor between the previous and current tick")
+    public float interpolation;
+}
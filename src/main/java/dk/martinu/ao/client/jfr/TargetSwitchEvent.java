@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event for switching the target of the game loop.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @since 1.0
+ */
+@Name(TargetSwitchEvent.NAME)
+@Label("Target Switch")
+@Category({"Abaddon Online", "Game Loop"})
+@Description("The target of the game loop was switched")
+public final class TargetSwitchEvent extends Event {
+
+    public static final String NAME = "dk.martinu.ao.client.TargetSwitch";
+
+    @Label("Previous Target")
+    @Description("Class name of the previous target, if any")
+    public String previous;
+    @Label("Target")
+    @Description("Class name of the new target")
+    public String target;
+}
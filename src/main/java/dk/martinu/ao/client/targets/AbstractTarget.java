@@ -23,8 +23,10 @@ import java.awt.Graphics2D;
 import java.awt.event.*;
 import java.util.Objects;
 
+import dk.martinu.ao.client.assets.AssetPreloader;
 import dk.martinu.ao.client.core.GameThread;
 import dk.martinu.ao.client.event.*;
+import dk.martinu.ao.client.jfr.InputProcessingEvent;
 import dk.martinu.ao.client.util.Resolution;
 import dk.martinu.ao.client.util.Timer;
 
@@ -125,6 +127,48 @@ public abstract class AbstractTarget implements Target {
             bindKey(keyCode, keyAction);
     }
 
+    /**
+     * Returns the asset with the specified name from the thread's
+     * {@link GameThread#getAssets() preloader}, loading it synchronously if it
+     * has not finished preloading. Returns {@code null} if the thread does not
+     * preload assets, or if the asset is not declared, fails to load or is not
+     * an instance of the specified type.
+     *
+     * @param name the name of the asset
+     * @param type the type of the asset
+     * @return the asset, or {@code null}
+     * @throws NullPointerException if {@code name} or {@code type} is
+     *                              {@code null}
+     * @see AssetPreloader#getOrLoad(String, Class)
+     */
+    @Nullable
+    protected <T> T getAsset(@NotNull final String name, @NotNull final Class<T> type) {
+        Objects.requireNonNull(name, "name is null");
+        Objects.requireNonNull(type, "type is null");
+        final AssetPreloader assets = thread.getAssets();
+        return assets != null ? assets.getOrLoad(name, type) : null;
+    }
+
+    /**
+     * Returns the number of key input buffered on this target and waiting to
+     * be processed in the next logic tick.
+     *
+     * @see KeyInputBuffer#getSize()
+     */
+    public int getKeyInputBacklog() {
+        return keyInputBuffer.getSize();
+    }
+
+    /**
+     * Returns the number of mouse events received by this target and waiting
+     * to be processed in the next logic tick.
+     *
+     * @see MouseInput#getPendingCount()
+     */
+    public int getMouseInputBacklog() {
+        return mouseInput.getPendingCount();
+    }
+
     /**
      * Called when a key has been pressed. Gets a list of all
      * {@code KeyAction}s with a {@link KeyAction#KEY_PRESSED} mask that are
@@ -174,9 +218,17 @@ public abstract class AbstractTarget implements Target {
     public void logic(@NotNull final Resolution r) {
         timer.measure();
 
+        final InputProcessingEvent keyEvent = new InputProcessingEvent();
+        keyEvent.begin();
         keyInputBuffer.processInput();
-        if (mouseAction != null)
+        commitInputEvent(keyEvent, InputProcessingEvent.KEY);
+
+        if (mouseAction != null) {
+            final InputProcessingEvent mouseEvent = new InputProcessingEvent();
+            mouseEvent.begin();
             mouseInput.processInput(r, mouseAction);
+            commitInputEvent(mouseEvent, InputProcessingEvent.MOUSE);
+        }
     }
 
     /**
@@ -271,6 +323,18 @@ public abstract class AbstractTarget implements Target {
 //        timer.measure();
     }
 
+    /**
+     * Ends and commits the specified flight recorder event if it is enabled.
+     */
+    private void commitInputEvent(@NotNull final InputProcessingEvent event, @NotNull final String device) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.target = getClass().getName();
+            event.device = device;
+            event.commit();
+        }
+    }
+
     /**
      * Initializes the key bindings for this target.
      */
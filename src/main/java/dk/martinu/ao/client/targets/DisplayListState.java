@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.targets;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.Graphics2D;
+
+import dk.martinu.ao.client.util.DisplayList;
+import dk.martinu.ao.client.util.Resolution;
+
+/**
+ * A render state that holds a {@link DisplayList}. Targets that use display
+ * list states record their draw commands when
+ * {@link Target#snapshot(RenderState) snapshot} is called, on the logic
+ * thread, and {@link #replay(Graphics2D) replay} them when painted, which
+ * might be on a separate render thread. The display list is cleared and
+ * reused every time the state is snapshot.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @see Target#paint(Graphics2D, Resolution, RenderState, float)
+ * @since 1.0
+ */
+public final class DisplayListState implements RenderState {
+
+    /**
+     * The display list of this state.
+     */
+    @NotNull
+    public final DisplayList list = new DisplayList();
+
+    /**
+     * Replays the display list of this state into the specified graphics
+     * context.
+     *
+     * @see DisplayList#replay(Graphics2D)
+     */
+    public void replay(@NotNull final Graphics2D g) {
+        list.replay(g);
+    }
+}
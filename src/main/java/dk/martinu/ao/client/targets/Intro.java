@@ -16,16 +16,19 @@
  */
 package dk.martinu.ao.client.targets;
 
-import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.*;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.event.KeyEvent;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
+import dk.martinu.ao.client.assets.AssetPreloader;
 import dk.martinu.ao.client.core.GameThread;
 import dk.martinu.ao.client.event.KeyAction;
 import dk.martinu.ao.client.event.OnPressKeyAction;
+import dk.martinu.ao.client.util.Log;
 import dk.martinu.ao.client.util.Resolution;
 
 public class Intro extends AbstractTarget {
@@ -33,28 +36,87 @@ public class Intro extends AbstractTarget {
     @NotNull
     public final Target target;
     public boolean skip = false;
+    // prepares the next target while the intro plays, or null if not started
+    @Nullable
+    private CompletableFuture<Target> prepared = null;
+    // timer value of the previous snapshot, used for interpolation
+    private long snapshotTime = 0L;
 
     public Intro(@NotNull final GameThread gameThread, @NotNull final Target target) {
         super(gameThread);
         this.target = Objects.requireNonNull(target, "target is null");
     }
 
+    /**
+     * Returns the fraction of preloaded assets that have finished loading,
+     * between {@code 0.0} and {@code 1.0}. Returns {@code 1.0} if the thread
+     * has no assets to preload.
+     *
+     * @see GameThread#getAssets()
+     */
+    public float getProgress() {
+        final AssetPreloader assets = thread.getAssets();
+        return assets != null ? assets.getProgress() : 1.0F;
+    }
+
+    /**
+     * Returns {@code true} if all required assets have finished loading, or
+     * if the thread has no assets to preload, and the next target has been
+     * prepared.
+     *
+     * @see Target#prepare(Resolution)
+     */
+    public boolean isReady() {
+        final AssetPreloader assets = thread.getAssets();
+        return (assets == null || assets.isReady()) && prepared != null && prepared.isDone();
+    }
+
+    /**
+     * Starts preparing the next target in the background once all required
+     * assets are ready, so they are loaded when the target installs them at
+     * its first tick, and hands off to it when the intro is over, or skipped,
+     * but not before the target is prepared. If
+     * preparing the target fails, it is handed off to anyway.
+     */
     @Override
     public void logic(@NotNull final Resolution r) {
         super.logic(r);
-        if (skip || timer.getTime() >= 4000L) {
+        final AssetPreloader assets = thread.getAssets();
+        if (prepared == null && (assets == null || assets.isReady()))
+            prepared = thread.prepareTarget(target).whenComplete((t, throwable) -> {
+                if (throwable != null)
+                    Log.e("could not prepare target [%s]", throwable, target.getClass().getName());
+            });
+        if ((skip || timer.getTime() >= 4000L) && isReady()) {
             // TODO cancel any sound output here when implemented
             thread.setTarget(target);
         }
     }
 
+    @NotNull
+    @Override
+    public RenderState createRenderState() {
+        return new IntroState();
+    }
+
     @Override
     public void paint(@NotNull final Graphics2D g, @NotNull final Resolution r) {
-        // draw a rotating square
-        g.setColor(Color.WHITE);
-        g.translate((r.width - 200) / 2 + 100, (r.height - 200) / 2 + 100);
-        g.rotate(Math.toRadians(360) * (timer.getTime() / 8000d));
-        g.fillRect(-100, -100, 200, 200);
+        paint(g, r, timer.getTime(), getProgress());
+    }
+
+    @Override
+    public void paint(@NotNull final Graphics2D g, @NotNull final Resolution r, @NotNull final RenderState state,
+            final float alpha) {
+        final IntroState s = (IntroState) state;
+        paint(g, r, s.previousTime + (s.time - s.previousTime) * (double) alpha, s.progress);
+    }
+
+    @Override
+    public void snapshot(@NotNull final RenderState state) {
+        final IntroState s = (IntroState) state;
+        s.previousTime = snapshotTime;
+        s.time = snapshotTime = timer.getTime();
+        s.progress = getProgress();
     }
 
     @Override
@@ -65,4 +127,27 @@ public class Intro extends AbstractTarget {
         });
         bindKeys(skip, KeyEvent.VK_ESCAPE, KeyEvent.VK_SPACE, KeyEvent.VK_ENTER);
     }
+
+    private void paint(@NotNull final Graphics2D g, @NotNull final Resolution r, final double time,
+            final float progress) {
+        // draw asset loading progress while loading
+        if (progress < 1.0F) {
+            g.setColor(Color.DARK_GRAY);
+            g.fillRect((r.width - 200) / 2, r.height - 40, 200, 4);
+            g.setColor(Color.WHITE);
+            g.fillRect((r.width - 200) / 2, r.height - 40, Math.round(200 * progress), 4);
+        }
+        // draw a rotating square
+        g.setColor(Color.WHITE);
+        g.translate((r.width - 200) / 2 + 100, (r.height - 200) / 2 + 100);
+        g.rotate(Math.toRadians(360) * (time / 8000d));
+        g.fillRect(-100, -100, 200, 200);
+    }
+
+    private static final class IntroState implements RenderState {
+
+        long previousTime;
+        long time;
+        float progress;
+    }
 }
@@ -23,11 +23,39 @@ import dk.martinu.ao.client.ui.*;
 
 public class Login extends UITarget {
 
+    /**
+     * Tick rate of the login menu; there is nothing to simulate, only input
+     * to respond to.
+     */
+    public static final int TICKS_PER_SECOND = 30;
+    /**
+     * Name of the theme asset installed in the scene of the login menu, if it
+     * is preloaded.
+     */
+    public static final String ASSET_THEME = "login";
+
     public Login(@NotNull final GameThread thread) {
         super(thread);
         initUiComponents();
     }
 
+    @Override
+    public int getTicksPerSecond() {
+        return TICKS_PER_SECOND;
+    }
+
+    /**
+     * Installs the {@link #ASSET_THEME theme} of the login menu, in addition
+     * to the assets installed by {@link UITarget}.
+     */
+    @Override
+    protected void installAssets() {
+        super.installAssets();
+        final Theme theme = getAsset(ASSET_THEME, Theme.class);
+        if (theme != null && scene != null)
+            scene.installTheme(theme);
+    }
+
     void initUiComponents() {
         final Delegate delegate = DefaultDelegate.getInstance();
         final Size sizeButton = new Size(250, 30);
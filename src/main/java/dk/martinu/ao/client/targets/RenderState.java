@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.targets;
+
+import java.awt.Graphics2D;
+
+import dk.martinu.ao.client.core.GameThread;
+import dk.martinu.ao.client.util.Resolution;
+
+/**
+ * A snapshot of the state a {@link Target} needs to paint itself. Render
+ * states are created by the target, filled on the logic thread and read on
+ * the thread that paints the target, which allows {@link GameThread} to run
+ * logic and painting on separate threads without locking.
+ * <p>
+ * Render states are reused in no particular order; a target must overwrite
+ * every field it reads when {@link Target#snapshot(RenderState) snapshot} is
+ * called. To support interpolation, a render state will typically hold both
+ * the previous and the current value of anything that moves, where the
+ * target itself keeps track of the previous value.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @see Target#createRenderState()
+ * @see Target#paint(Graphics2D, Resolution, RenderState, float)
+ * @since 1.0
+ */
+public interface RenderState { }
@@ -16,9 +16,10 @@
  */
 package dk.martinu.ao.client.targets;
 
-import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.*;
 
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.event.*;
 
 import dk.martinu.ao.client.core.GameThread;
@@ -31,6 +32,12 @@ import dk.martinu.ao.client.util.Resolution;
  * {@link #paint(Graphics2D, Resolution)} methods which will be called by
  * {@code GameThread} on the active target. An intro cinematic, a main menu or
  * gameplay are all examples of different targets.
+ * <p>
+ * If {@code GameThread} paints on a separate thread, then targets can
+ * optionally provide a {@link RenderState} that is snapshot after each logic
+ * tick and painted with an interpolation factor. Targets that do not provide
+ * a render state are painted with {@link #paint(Graphics2D, Resolution)} and
+ * must tolerate that painting runs concurrently with logic.
  *
  * @author Adam Martinu
  * @version 1.0, 2023-06-02
@@ -40,6 +47,64 @@ import dk.martinu.ao.client.util.Resolution;
  */
 public interface Target extends KeyListener, MouseListener, MouseMotionListener, MouseWheelListener {
 
+    /**
+     * Sets {@code damage} to the region of this target that has changed since
+     * it was last painted and returns {@code true}, or returns {@code false}
+     * if nothing has changed. Called before each frame is painted, on the
+     * thread that paints. If the back buffer of the {@link GameThread}
+     * retains its contents, then painting is clipped to the damaged region,
+     * and the frame is skipped entirely if nothing has changed. The default
+     * implementation damages the entire resolution and returns {@code true}.
+     *
+     * @param damage the rectangle to set, in the coordinate space of
+     *               {@link #paint(Graphics2D, Resolution)}
+     * @param r      the resolution the frame is painted at
+     * @return {@code true} if any region has changed, otherwise
+     * {@code false}
+     */
+    default boolean collectDamage(@NotNull final Rectangle damage, @NotNull final Resolution r) {
+        damage.setBounds(0, 0, r.width, r.height);
+        return true;
+    }
+
+    /**
+     * Returns a new render state for this target, or {@code null} if this
+     * target does not support render states. The default implementation
+     * returns {@code null}.
+     *
+     * @see #snapshot(RenderState)
+     */
+    @Contract(pure = true)
+    @Nullable
+    default RenderState createRenderState() {
+        return null;
+    }
+
+    /**
+     * Returns the rate at which this target wants to be painted in frames per
+     * second, or {@code 0} to use the frame rate of the {@link GameThread}.
+     * The default implementation returns {@code 0}.
+     *
+     * @see GameThread#setFramesPerSecond(int)
+     */
+    @Contract(pure = true)
+    default int getFramesPerSecond() {
+        return 0;
+    }
+
+    /**
+     * Returns the rate at which this target wants its
+     * {@link #logic(Resolution) logic} performed in ticks per second, or
+     * {@code 0} to use the tick rate of the {@link GameThread}. The default
+     * implementation returns {@code 0}.
+     *
+     * @see GameThread#setTicksPerSecond(int)
+     */
+    @Contract(pure = true)
+    default int getTicksPerSecond() {
+        return 0;
+    }
+
     /**
      * Performs the logic of this target, such as processing events, updating
      * positions of entities and so on.
@@ -49,6 +114,21 @@ public interface Target extends KeyListener, MouseListener, MouseMotionListener,
      */
     void logic(@NotNull final Resolution r);
 
+    /**
+     * Prepares this target before it becomes the active target, e.g. by
+     * laying out and pre-rendering its user interface, so the first frames
+     * after the switch do not stall. Called at most once, on a background
+     * thread, and never concurrently with any other method of this target.
+     * Implementations must not access state shared with the active target.
+     * The default implementation does nothing.
+     *
+     * @param r the resolution of the {@link GameThread} at the time this
+     *          method was called
+     * @see GameThread#prepareTarget(Target)
+     * @see GameThread#setTargetWhenReady(Target)
+     */
+    default void prepare(@NotNull final Resolution r) { }
+
     /**
      * Renders this target using the specified graphics object.
      *
@@ -57,4 +137,30 @@ public interface Target extends KeyListener, MouseListener, MouseMotionListener,
      *          this method was called
      */
     void paint(@NotNull final Graphics2D g, @NotNull final Resolution r);
+
+    /**
+     * Renders this target from the specified render state. The default
+     * implementation ignores the state and calls
+     * {@link #paint(Graphics2D, Resolution)}.
+     *
+     * @param g     the graphics used to render this target
+     * @param r     the resolution at the time the state was snapshot
+     * @param state a render state created by this target
+     * @param alpha interpolation factor between the previous ({@code 0.0F})
+     *              and the current ({@code 1.0F}) logic tick
+     */
+    default void paint(@NotNull final Graphics2D g, @NotNull final Resolution r, @NotNull final RenderState state,
+            final float alpha) {
+        paint(g, r);
+    }
+
+    /**
+     * Copies the state needed to paint this target into the specified render
+     * state. Called on the logic thread after each call to
+     * {@link #logic(Resolution)}. The default implementation does nothing.
+     *
+     * @param state a render state created by this target
+     * @see #createRenderState()
+     */
+    default void snapshot(@NotNull final RenderState state) { }
 }
@@ -19,26 +19,121 @@ package dk.martinu.ao.client.targets;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.awt.Font;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.event.*;
+import java.awt.image.BufferedImage;
 
 import dk.martinu.ao.client.core.GameThread;
-import dk.martinu.ao.client.event.KeyInput;
 import dk.martinu.ao.client.event.MouseAction;
 import dk.martinu.ao.client.ui.Component;
+import dk.martinu.ao.client.ui.DefaultDelegate;
 import dk.martinu.ao.client.ui.Scene;
+import dk.martinu.ao.client.util.DisplayList;
+import dk.martinu.ao.client.util.QualityProfile;
 import dk.martinu.ao.client.util.Resolution;
 
 public class UITarget extends AbstractTarget {
 
+    /**
+     * Name of the AWT font asset that {@link DefaultDelegate} paints text
+     * with, if it is preloaded.
+     *
+     * @see #installAssets()
+     */
+    public static final String ASSET_FONT = "ui";
+
     @Nullable
     protected Scene scene = null;
+    // true if installAssets() has been called
+    private boolean assetsInstalled = false;
+    // quality profile the display lists of the scene were recorded with
+    @Nullable
+    private QualityProfile recordedProfile = null;
 
     public UITarget(@NotNull final GameThread thread) {
         super(thread);
         mouseAction = new UIMouseAction();
     }
 
+    /**
+     * Returns a {@link DisplayListState}, such that the scene is recorded on
+     * the logic thread and replayed on the thread that paints.
+     */
+    @NotNull
+    @Override
+    public RenderState createRenderState() {
+        return new DisplayListState();
+    }
+
+    /**
+     * Collects the damage of the scene, so only components that have changed
+     * are repainted. Subclasses that paint anything other than the scene must
+     * override this method.
+     *
+     * @see Scene#collectDamage(Rectangle)
+     */
+    @Override
+    public boolean collectDamage(@NotNull final Rectangle damage, @NotNull final Resolution r) {
+        if (scene == null)
+            return super.collectDamage(damage, r);
+        // the scene has been laid out again in the latest logic tick
+        if (scene.getWidth() != r.width || scene.getHeight() != r.height) {
+            scene.collectDamage(damage);
+            return super.collectDamage(damage, r);
+        }
+        return scene.collectDamage(damage);
+    }
+
+    /**
+     * Lays out the scene again if the resolution changed, before processing
+     * input. The scene is laid out at most once per tick, not when painted,
+     * and resolution changes are coalesced by the game thread. The assets of
+     * this target are installed at the first tick, after which the scene is
+     * laid out and recorded again.
+     */
+    @Override
+    public void logic(@NotNull final Resolution r) {
+        final boolean installed = installAssetsOnce();
+        if (scene != null && (scene.invalidate(r) || installed)) {
+            scene.layout();
+            if (installed) {
+                scene.discardDisplayList();
+                scene.repaint();
+            }
+        }
+        super.logic(r);
+    }
+
+    /**
+     * Lays out the scene at the specified resolution, records its display
+     * lists and replays them once into an offscreen image with the current
+     * quality profile, which warms up font metrics, glyph caches and the
+     * delegates of all components. Assets are not installed here, since they
+     * can change state that the active target reads.
+     */
+    @Override
+    public void prepare(@NotNull final Resolution r) {
+        if (scene == null)
+            return;
+        if (scene.invalidate(r))
+            scene.layout();
+        final DisplayList list = new DisplayList();
+        record(scene, list);
+        final BufferedImage image = new BufferedImage(r.width, r.height, BufferedImage.TYPE_INT_RGB);
+        final Graphics2D g = image.createGraphics();
+        try {
+            thread.getQualityProfile().apply(g);
+            list.replay(g);
+        }
+        finally {
+            g.dispose();
+        }
+        // the first frame paints the entire scene
+        scene.repaint();
+    }
+
     @Override
     public void paint(@NotNull final Graphics2D g, @NotNull final Resolution r) {
         super.paint(g, r);
@@ -46,18 +141,53 @@ public class UITarget extends AbstractTarget {
             scene.paint(g, r);
     }
 
+    @Override
+    public void paint(@NotNull final Graphics2D g, @NotNull final Resolution r, @NotNull final RenderState state,
+            final float alpha) {
+        super.paint(g, r);
+        ((DisplayListState) state).replay(g);
+    }
+
+    /**
+     * Records the scene into the display list of the specified state. Only
+     * components that changed since the previous snapshot are recorded again.
+     */
+    @Override
+    public void snapshot(@NotNull final RenderState state) {
+        final DisplayList list = ((DisplayListState) state).list;
+        list.clear();
+        if (scene != null)
+            record(scene, list);
+    }
+
+    /**
+     * Installs the preloaded assets used by this target. This method is
+     * called once, on the game thread at the first logic tick after this
+     * target is switched in, and never while it is prepared. The default
+     * implementation sets the font of the {@link DefaultDelegate}, which is
+     * shared by all targets, to the {@link #ASSET_FONT} asset.
+     *
+     * @see #getAsset(String, Class)
+     */
+    protected void installAssets() {
+        final Font font = getAsset(ASSET_FONT, Font.class);
+        if (font != null && DefaultDelegate.getInstance() instanceof DefaultDelegate delegate)
+            delegate.font(font);
+    }
+
     public void setScene(@Nullable final Scene scene) {
         if (this.scene != null) {
             this.scene.setMouseoverComponent(null);
             this.scene.setPressedComponent(null);
         }
         this.scene = scene;
+        if (scene != null)
+            scene.repaint();
     }
 
     @Override
     public void keyTyped(@NotNull final KeyEvent event) {
         super.keyTyped(event);
-        keyInputBuffer.add(new KeyInput(null, event));
 //        if (scene != null) {
 //            final Component focus = scene.getFocusedComponent();
 //            if (focus instanceof TextField textField)
@@ -70,6 +200,34 @@ public class UITarget extends AbstractTarget {
 
     }
 
+    /**
+     * Calls {@link #installAssets()} unless it has already been called.
+     *
+     * @return {@code true} if the assets were installed by this call
+     */
+    private boolean installAssetsOnce() {
+        if (assetsInstalled)
+            return false;
+        assetsInstalled = true;
+        installAssets();
+        return true;
+    }
+
+    /**
+     * Records the scene into the specified display list with the current
+     * quality profile. If the profile changed, the display lists of all
+     * components are recorded again, since text is measured differently.
+     */
+    private void record(@NotNull final Scene scene, @NotNull final DisplayList list) {
+        final QualityProfile profile = thread.getQualityProfile();
+        if (profile != recordedProfile) {
+            recordedProfile = profile;
+            scene.discardDisplayList();
+        }
+        list.setQualityProfile(profile);
+        scene.record(list);
+    }
+
     public class UIMouseAction implements MouseAction {
 
         @Override
@@ -19,11 +19,14 @@ package dk.martinu.ao.client.text;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
+import java.awt.Color;
 import java.awt.Graphics2D;
-import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
+import java.util.Arrays;
 import java.util.Objects;
 
+import dk.martinu.ao.client.util.DisplayList;
+
 /**
  * A class that maps characters to {@link Glyph glyphs}.
  *
@@ -41,6 +44,21 @@ public class Font {
     final Glyph[] glyphs;
     @NotNull
     final GlyphIndexMap map = new GlyphIndexMap();
+    /**
+     * Alpha bitmaps of all glyphs, packed when the font is created.
+     */
+    @NotNull
+    final GlyphAtlas atlas;
+    /**
+     * Kerning pairs of all glyphs, compiled when the font is created.
+     */
+    @NotNull
+    final KerningTable kerning;
+    /**
+     * Cache of strings laid out with this font.
+     */
+    @NotNull
+    private final TextCache textCache = new TextCache(this);
 
     public Font(@NotNull final String name, final int height, @NotNull final Glyph[] glyphs) {
         this.name = Objects.requireNonNull(name, "name is null");
@@ -52,6 +70,8 @@ public class Font {
             Glyph glyph = Objects.requireNonNull(glyphs[i], "glyphs array contains null elements");
             map.putIndex(glyph.value, i);
         }
+        atlas = GlyphAtlas.pack(glyphs);
+        kerning = KerningTable.compile(glyphs);
     }
 
     @Contract(pure = true)
@@ -67,69 +87,76 @@ public class Font {
 
     @Contract(pure = true)
     public int[] getGlyphIndices(@NotNull final String s) {
-        final char[] chars = s.toCharArray();
-        int[] ints = new int[chars.length];
-        for (int i = 0; i < chars.length; i++) {
-            ints[i] = map.getIndex(chars[i]);
-        }
+        final int[] ints = new int[s.length()];
+        for (int i = 0; i < ints.length; i++)
+            ints[i] = map.getIndex(s.charAt(i));
         return ints;
     }
 
-    // TEST
+    /**
+     * Returns a new image of the {@link Glyph}s with the specified indices
+     * laid out on a single line, in white. The image is as wide as the line
+     * and as tall as this font.
+     *
+     * @param indices an array of {@code Glyph} indices
+     * @return an image of the glyphs
+     * @throws NullPointerException     if {@code indices} is {@code null}
+     * @throws IllegalArgumentException if {@code indices} is empty
+     * @see #paint(Graphics2D, int[], int, int)
+     */
     @Contract(value = "null -> fail", pure = true)
     @NotNull
     public BufferedImage getImage(final int[] indices) {
-        Objects.requireNonNull(indices, "indices array is null");
-        if (indices.length == 0)
-            throw new IllegalArgumentException("empty indices array");
-
-        // variables for iterating indices
-        int i0 = indices[0];
-        int i1;
-        Glyph g0 = glyphs[i0];
-        Glyph g1;
-
-        // current horizontal glyph position
-        int x = 0;
-
-        // x positions for glyphs
-        final int[] xa = new int[indices.length];
-        xa[0] = x;
-
-        // advance x by width of previous glyph + position of new glyph
-        int i = 1;
-        do {
-            i1 = indices[i];
-            g1 = glyphs[i1];
-
-            x += g0.width + g1.getOffsetX(i0);
-
-            i0 = i1;
-            g0 = g1;
-
-            xa[i++] = x;
-        }
-        while (i < indices.length);
-
-        // image to return
-        final BufferedImage img = new BufferedImage(x + g0.width, height, BufferedImage.TYPE_4BYTE_ABGR);
-
-        // initialize graphics for drawing glyphs to image
+        final BufferedImage img = new BufferedImage(getWidth(indices), height, BufferedImage.TYPE_INT_ARGB);
         final Graphics2D g = img.createGraphics();
-        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-        g.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);
-        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-
-        // draw glyphs
-        for (i = 0; i < indices.length; i++) {
-            // TODO draw glyphs
-        }
-
+        paint(g, atlas.getPages(Color.WHITE), indices, 0, 0);
         g.dispose();
         return img;
     }
 
+    /**
+     * Returns an image of the specified string laid out on a single line in
+     * the specified color. Images are cached, and the returned image is
+     * shared; it must not be modified. Characters without a glyph are
+     * skipped.
+     *
+     * @param s     the string
+     * @param color the color of the glyphs
+     * @return an image of the string
+     * @throws NullPointerException if {@code s} or {@code color} is
+     *                              {@code null}
+     * @see #getTextCache()
+     */
+    @NotNull
+    public BufferedImage getLineImage(@NotNull final String s, @NotNull final Color color) {
+        Objects.requireNonNull(s, "s is null");
+        Objects.requireNonNull(color, "color is null");
+        return textCache.getImage(s, color);
+    }
+
+    /**
+     * Returns the cache of strings laid out with this font, which is used by
+     * methods that take a string rather than glyph indices.
+     */
+    @Contract(pure = true)
+    @NotNull
+    public TextCache getTextCache() {
+        return textCache;
+    }
+
+    /**
+     * Returns the width of the specified string laid out on a single line.
+     * Characters without a glyph are skipped.
+     *
+     * @param s the string
+     * @return the width of the string, or {@code 0} if it is empty
+     * @throws NullPointerException if {@code s} is {@code null}
+     * @see #getTextCache()
+     */
+    public int getWidth(@NotNull final String s) {
+        return textCache.getRun(Objects.requireNonNull(s, "s is null")).width;
+    }
+
     // TODO implement getImage for multiple lines
     @Contract(value = "null, _, _ -> fail", pure = true)
     @NotNull
@@ -165,7 +192,7 @@ public class Font {
             id1 = ids[i++];
             g1 = glyphs[id1];
 
-            x += g0.width + g1.getOffsetX(id0);
+            x += g0.width + kerning.get(id0, id1);
 
             // start new line
 //            if (g1.isWhitespace && x + g1.image.getWidth() > maxWidth) {
@@ -203,22 +230,154 @@ public class Font {
 
         int id0 = ids[0];
         int width = glyphs[id0].width;
-        Glyph glyph;
         for (int i = 1, id1; i < ids.length; i++) {
             id1 = ids[i];
-            glyph = glyphs[id1];
-            width += glyph.getOffsetX(id0) + glyph.width;
+            width += kerning.get(id0, id1) + glyphs[id1].width;
             id0 = id1;
         }
 
         return width;
     }
 
+    /**
+     * Paints the {@link Glyph}s with the specified indices on a single line
+     * at the origin, in the current color of the graphics context.
+     *
+     * @see #paint(Graphics2D, int[], int, int)
+     */
     public void paint(@NotNull final Graphics2D g, final int[] ids) {
-        // TODO paint single line
+        paint(g, ids, 0, 0);
+    }
+
+    /**
+     * Paints the {@link Glyph}s with the specified indices on a single line,
+     * in the current color of the graphics context. Glyphs are blitted from
+     * the atlas of this font, so no images are allocated, except the first
+     * time a color is used.
+     *
+     * @param g   the graphics context
+     * @param ids an array of {@code Glyph} indices
+     * @param x   the x-coordinate of the line
+     * @param y   the y-coordinate of the top of the line
+     * @throws NullPointerException if {@code g} or {@code ids} is
+     *                              {@code null}
+     */
+    public void paint(@NotNull final Graphics2D g, final int[] ids, final int x, final int y) {
+        Objects.requireNonNull(g, "g is null");
+        paint(g, atlas.getPages(g.getColor()), ids, x, y);
     }
 
+    /**
+     * Paints the specified string on a single line, in the current color of
+     * the graphics context. The glyph indices and width of the string are
+     * cached. Characters without a glyph are skipped.
+     *
+     * @param g the graphics context
+     * @param s the string
+     * @param x the x-coordinate of the line
+     * @param y the y-coordinate of the top of the line
+     * @throws NullPointerException if {@code g} or {@code s} is {@code null}
+     * @see #getTextCache()
+     */
+    public void paint(@NotNull final Graphics2D g, @NotNull final String s, final int x, final int y) {
+        Objects.requireNonNull(g, "g is null");
+        final TextCache.Run run = textCache.getRun(Objects.requireNonNull(s, "s is null"));
+        paint(g, atlas.getPages(g.getColor()), run.ids, x, y);
+    }
+
+    /**
+     * Paints the specified lines of {@link Glyph} indices at the origin, in
+     * the current color of the graphics context. Each line is painted
+     * {@link #height} pixels below the previous line.
+     *
+     * @param g     the graphics context
+     * @param lines an array of lines of {@code Glyph} indices
+     * @throws NullPointerException if {@code g} or {@code lines} is
+     *                              {@code null}
+     */
     public void paintLines(@NotNull final Graphics2D g, final int[][] lines) {
-        // TODO paint multiple lines
+        Objects.requireNonNull(g, "g is null");
+        Objects.requireNonNull(lines, "lines array is null");
+        final BufferedImage[] pages = atlas.getPages(g.getColor());
+        for (int i = 0; i < lines.length; i++)
+            paint(g, pages, lines[i], 0, i * height);
+    }
+
+    /**
+     * Records commands that paint the {@link Glyph}s with the specified
+     * indices on a single line into the specified display list.
+     *
+     * @param list  the display list to record into
+     * @param ids   an array of {@code Glyph} indices
+     * @param x     the x-coordinate of the line
+     * @param y     the y-coordinate of the top of the line
+     * @param color the color of the glyphs
+     * @throws NullPointerException if any argument is {@code null}
+     */
+    public void record(@NotNull final DisplayList list, final int[] ids, final int x, final int y,
+            @NotNull final Color color) {
+        Objects.requireNonNull(list, "list is null");
+        Objects.requireNonNull(ids, "ids array is null");
+        final BufferedImage[] pages = atlas.getPages(Objects.requireNonNull(color, "color is null"));
+        if (ids.length == 0)
+            return;
+        int id0 = ids[0];
+        int gx = x;
+        atlas.record(list, pages, id0, gx, y);
+        for (int i = 1, id1; i < ids.length; i++) {
+            id1 = ids[i];
+            // advance by width of previous glyph + offset of next glyph
+            gx += glyphs[id0].width + kerning.get(id0, id1);
+            atlas.record(list, pages, id1, gx, y);
+            id0 = id1;
+        }
+    }
+
+    /**
+     * Returns a new image of the specified run in the specified color.
+     */
+    @NotNull
+    BufferedImage createLineImage(@NotNull final TextCache.Run run, @NotNull final Color color) {
+        final BufferedImage img = new BufferedImage(Math.max(run.width, 1), height, BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D g = img.createGraphics();
+        paint(g, atlas.getPages(color), run.ids, 0, 0);
+        g.dispose();
+        return img;
+    }
+
+    /**
+     * Returns a new run of the glyph indices of the specified string,
+     * skipping characters without a glyph.
+     */
+    @NotNull
+    TextCache.Run createRun(@NotNull final String s) {
+        int[] ids = new int[s.length()];
+        int n = 0;
+        for (int i = 0, id; i < ids.length; i++)
+            if ((id = map.getIndex(s.charAt(i))) != -1)
+                ids[n++] = id;
+        if (n != ids.length)
+            ids = Arrays.copyOf(ids, n);
+        return new TextCache.Run(ids, n != 0 ? getWidth(ids) : 0);
+    }
+
+    /**
+     * Paints a single line of glyphs from the specified atlas pages.
+     */
+    private void paint(@NotNull final Graphics2D g, @NotNull final BufferedImage[] pages, final int[] ids,
+            final int x, final int y) {
+        Objects.requireNonNull(ids, "ids array is null");
+        if (ids.length == 0)
+            return;
+        int id0 = ids[0];
+        int gx = x;
+        atlas.draw(g, pages, id0, gx, y);
+        for (int i = 1, id1; i < ids.length; i++) {
+            id1 = ids[i];
+            // advance by width of previous glyph + offset of next glyph
+            gx += glyphs[id0].width + kerning.get(id0, id1);
+            atlas.draw(g, pages, id1, gx, y);
+            id0 = id1;
+        }
     }
 }
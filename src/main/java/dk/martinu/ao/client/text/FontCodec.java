@@ -20,7 +20,10 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.Objects;
 
 import dk.martinu.ao.client.util.Log;
@@ -28,6 +31,11 @@ import dk.martinu.ao.client.util.Log;
 public class FontCodec {
 
     public static final int TAG = 'F' << 24 | 'O' << 16 | 'N' << 8 | 'T';
+    /**
+     * Size in bytes from which font files are memory-mapped instead of read
+     * into a heap buffer.
+     */
+    private static final long MAP_THRESHOLD = 1 << 20;
 
     @Contract(value = "_ -> new", pure = true)
     @NotNull
@@ -63,176 +71,171 @@ public class FontCodec {
         return b;
     }
 
-    @Contract(pure = true)
-    private static char getChar(final byte[] b) {
-        return (char) (b[0] << 8 | b[1]);
+    /**
+     * Throws a {@link FontFormatException} if {@code buffer} has fewer than
+     * {@code n} bytes from {@code pos} to its limit.
+     */
+    private static void require(@NotNull final ByteBuffer buffer, final int pos, final int n,
+            @NotNull final String msg) throws FontFormatException {
+        if (n < 0 || buffer.limit() - pos < n)
+            throw new FontFormatException(pos, msg);
     }
 
-    @Contract(pure = true)
-    private static int getInt(final byte[] b) {
-        return b[0] << 24 | b[1] << 16 | b[2] << 8 | b[3];
+    /**
+     * Returns a buffer with the contents of the specified file. Files of at
+     * least {@link #MAP_THRESHOLD} bytes are memory-mapped, smaller files are
+     * read into a heap buffer with bulk reads.
+     */
+    @Contract(value = "_ -> new")
+    @NotNull
+    private static ByteBuffer readBuffer(@NotNull final File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE)
+                throw new FontFormatException("file is too large (" + size + " bytes)");
+            if (size >= MAP_THRESHOLD)
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            final ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining())
+                if (channel.read(buffer) == -1)
+                    break;
+            return buffer.flip();
+        }
     }
 
     @Contract(value = "_ -> new", pure = true)
     @NotNull
     private static Font readImpl(@NotNull final File file) throws IOException {
 
-        final String fontName;
-        final int fontHeight;
-        final Glyph[] glyphs;
+        final ByteBuffer buffer = readBuffer(file);
 
-        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+        final int INT = 4;
+        final int CHAR = 2;
 
-            final int INT = 4;
-            final byte[] iBuffer = new byte[INT];
-            final int CHAR = 2;
-            final byte[] cBuffer = new byte[CHAR];
+        // position in buffer
+        int pos = 0;
+
+        // FONT tag
+        require(buffer, pos, INT, "missing tag");
+        if (buffer.getInt(pos) != TAG)
+            throw new FontFormatException(pos, "invalid tag");
+        pos += INT;
 
-            // bytes read
-            int n;
-            // position in stream
-            int pos = 0;
-
-            // FONT tag
-            n = in.readNBytes(iBuffer, 0, INT);
-            if (n != INT)
-                throw new FontFormatException(pos, "missing tag");
-            if (getInt(iBuffer) != TAG)
-                throw new FontFormatException(pos, "invalid tag");
-            pos += n;
-
-
-            // font name
-            n = in.readNBytes(iBuffer, 0, INT);
-            if (n != INT)
-                throw new FontFormatException(pos, "missing font height");
-            final int nameLength = getInt(iBuffer);
-            if (nameLength < 0)
-                throw new FontFormatException(pos, "invalid name length");
-            pos += n;
-            {
-                final byte[] nameBytes = new byte[nameLength];
-                n = in.readNBytes(nameBytes, 0, nameLength);
-                if (n != nameLength)
-                    throw new FontFormatException(pos, "missing font name");
-                fontName = new String(nameBytes, StandardCharsets.UTF_8);
-            }
 
-            // font height
-            n = in.readNBytes(iBuffer, 0, INT);
-            if (n != INT)
-                throw new FontFormatException(pos, "missing font height");
-            fontHeight = getInt(iBuffer);
-            if (fontHeight <= 0)
-                throw new FontFormatException(pos, "invalid font height");
-            pos += n;
-
-            // glyph count
-            n = in.readNBytes(iBuffer, 0, INT);
-            if (n != INT)
-                throw new FontFormatException(pos, "missing glyph count");
-            final int glyphCount = getInt(iBuffer);
-            if (glyphCount < 0)
-                throw new FontFormatException(pos, "invalid glyph count");
-            pos += n;
-
-
-            // read glyphs
-            glyphs = new Glyph[glyphCount];
-            for (int i = 0; i < glyphCount; i++) {
-
-                // value
-                n = in.readNBytes(cBuffer, 0, CHAR);
-                if (n != CHAR)
-                    throw new FontFormatException(pos, "missing value");
-                final char value = getChar(cBuffer);
-                pos += n;
-
-                // width
-                n = in.readNBytes(iBuffer, 0, INT);
-                if (n != INT)
-                    throw new FontFormatException(pos, "missing width");
-                final int width = getInt(iBuffer);
-                if (width <= 0)
-                    throw new FontFormatException(pos, "invalid width");
-                pos += n;
-
-                // height
-                n = in.readNBytes(iBuffer, 0, INT);
-                if (n != INT)
-                    throw new FontFormatException(pos, "missing height");
-                final int height = getInt(iBuffer);
-                if (height < 0) // height > fontHeight TODO check if height can be > when paint is implemented
-                    throw new FontFormatException(pos, "invalid height");
-                pos += n;
-
-                // isWhitespace
-                final int b = in.read();
-                if (b == -1)
-                    throw new FontFormatException(pos, "missing isWhitespace");
-                if (b != 0 && b != 1)
-                    throw new FontFormatException(pos, "invalid isWhitespace");
-                final boolean isWhitespace = b == 1;
-                pos += 1;
-
-                // offsetY
-                n = in.readNBytes(iBuffer, 0, INT);
-                if (n != INT)
-                    throw new FontFormatException(pos, "missing offsetY");
-                final int offsetY = getInt(iBuffer);
-//                if (offsetY < 0 || height + offsetY > fontHeight) TODO check if oY can be invalid, log suspicious values
-//                    throw new FontFormatException(pos, "invalid offsetY");
-                pos += n;
-
-                // offsetX count
-                n = in.readNBytes(iBuffer, 0, INT);
-                if (n != INT)
-                    throw new FontFormatException(pos, "missing offsetX count");
-                final int offsetXCount = getInt(iBuffer);
-                if (offsetXCount < 0)
-                    throw new FontFormatException(pos, "invalid offsetX count");
-                pos += n;
-
-                // read offsetX
-                final int[] offsetX = new int[offsetXCount * 2];
-                for (int j = 0; j < offsetXCount; j += 2) {
-
-                    n = in.readNBytes(iBuffer, 0, INT);
-                    if (n != INT)
-                        throw new FontFormatException(pos, "missing offsetX ID");
-                    final int id = getInt(iBuffer);
-                    if (id < 0 || id >= glyphCount)
-                        throw new FontFormatException(pos, "invalid offsetX ID");
-                    pos += n;
-
-                    n = in.readNBytes(iBuffer, 0, INT);
-                    if (n != INT)
-                        throw new FontFormatException(pos, "missing offsetX");
-                    final int offset = getInt(iBuffer);
-                    pos += n;
-                    if (offset == 0)
-                        Log.w("redundant offsetX (" + i + ")");
-
-                    offsetX[j] = id;
-                    offsetX[j + 1] = offset;
-                }
-
-
-                // read data
-                final int len = width * height;
-                final byte[] data = new byte[len];
-                n = in.readNBytes(data, 0, len);
-                if (n != len)
-                    throw new FontFormatException(pos, "missing data");
-                pos += n;
-                if (isWhitespace && len != 0)
-                    Log.w("whitespace glyph has data (" + i + ")");
-
-
-                glyphs[i] = new Glyph(isWhitespace, width, height, value, offsetY, offsetX, data);
+        // font name
+        require(buffer, pos, INT, "missing name length");
+        final int nameLength = buffer.getInt(pos);
+        if (nameLength < 0)
+            throw new FontFormatException(pos, "invalid name length");
+        pos += INT;
+        final String fontName;
+        {
+            require(buffer, pos, nameLength, "missing font name");
+            final byte[] nameBytes = new byte[nameLength];
+            buffer.get(pos, nameBytes);
+            fontName = new String(nameBytes, StandardCharsets.UTF_8);
+            pos += nameLength;
+        }
+
+        // font height
+        require(buffer, pos, INT, "missing font height");
+        final int fontHeight = buffer.getInt(pos);
+        if (fontHeight <= 0)
+            throw new FontFormatException(pos, "invalid font height");
+        pos += INT;
+
+        // glyph count
+        require(buffer, pos, INT, "missing glyph count");
+        final int glyphCount = buffer.getInt(pos);
+        if (glyphCount < 0)
+            throw new FontFormatException(pos, "invalid glyph count");
+        pos += INT;
+
+
+        // read glyphs
+        final Glyph[] glyphs = new Glyph[glyphCount];
+        for (int i = 0; i < glyphCount; i++) {
+
+            // value
+            require(buffer, pos, CHAR, "missing value");
+            final char value = buffer.getChar(pos);
+            pos += CHAR;
+
+            // width
+            require(buffer, pos, INT, "missing width");
+            final int width = buffer.getInt(pos);
+            if (width <= 0)
+                throw new FontFormatException(pos, "invalid width");
+            pos += INT;
+
+            // height
+            require(buffer, pos, INT, "missing height");
+            final int height = buffer.getInt(pos);
+            if (height < 0) // height > fontHeight TODO check if height can be > when paint is implemented
+                throw new FontFormatException(pos, "invalid height");
+            pos += INT;
+
+            // isWhitespace
+            require(buffer, pos, 1, "missing isWhitespace");
+            final byte b = buffer.get(pos);
+            if (b != 0 && b != 1)
+                throw new FontFormatException(pos, "invalid isWhitespace");
+            final boolean isWhitespace = b == 1;
+            pos += 1;
+
+            // offsetY
+            require(buffer, pos, INT, "missing offsetY");
+            final int offsetY = buffer.getInt(pos);
+//            if (offsetY < 0 || height + offsetY > fontHeight) TODO check if oY can be invalid, log suspicious values
+//                throw new FontFormatException(pos, "invalid offsetY");
+            pos += INT;
+
+            // offsetX count (number of ints, two per pair)
+            require(buffer, pos, INT, "missing offsetX count");
+            final int offsetXCount = buffer.getInt(pos);
+            if (offsetXCount < 0 || (offsetXCount & 1) != 0)
+                throw new FontFormatException(pos, "invalid offsetX count");
+            pos += INT;
+
+            // read offsetX
+            final int[] offsetX = new int[offsetXCount];
+            for (int j = 0; j < offsetXCount; j += 2) {
+
+                require(buffer, pos, INT, "missing offsetX ID");
+                final int id = buffer.getInt(pos);
+                if (id < 0 || id >= glyphCount)
+                    throw new FontFormatException(pos, "invalid offsetX ID");
+                pos += INT;
+
+                require(buffer, pos, INT, "missing offsetX");
+                final int offset = buffer.getInt(pos);
+                pos += INT;
+                if (offset == 0)
+                    Log.w("redundant offsetX (" + i + ")");
+
+                offsetX[j] = id;
+                offsetX[j + 1] = offset;
             }
+
+
+            // read data
+            final long len = (long) width * height;
+            if (len > Integer.MAX_VALUE)
+                throw new FontFormatException(pos, "invalid data length");
+            require(buffer, pos, (int) len, "missing data");
+            final byte[] data = new byte[(int) len];
+            buffer.get(pos, data);
+            pos += (int) len;
+            if (isWhitespace && len != 0)
+                Log.w("whitespace glyph has data (" + i + ")");
+
+
+            glyphs[i] = new Glyph(isWhitespace, width, height, value, offsetY, offsetX, data);
         }
 
+        if (pos != buffer.limit())
+            Log.w("font file has " + (buffer.limit() - pos) + " trailing bytes {" + file.getName() + "}");
+
         return new Font(fontName, fontHeight, glyphs);
     }
 
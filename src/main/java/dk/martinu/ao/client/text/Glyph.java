@@ -31,10 +31,6 @@ public class Glyph {
     private static final int[] EMPTY_OFFSET_X = new int[0];
     private static final byte[] EMPTY_DATA = new byte[0];
 
-    static int hash(final char value) {
-        return value * 31;
-    }
-
     /**
      * The character that this glyph represents.
      */
@@ -105,6 +101,10 @@ public class Glyph {
     /**
      * Returns the horizontal offset (on the left side) between this glyph and
      * the glyph with the specified id.
+     * <p>
+     * This method scans the offset pairs of this glyph linearly. {@link Font}
+     * looks up offsets in constant time from a table compiled when the font
+     * is created.
      */
     @Contract(pure = true)
     public int getOffsetX(final int id) {
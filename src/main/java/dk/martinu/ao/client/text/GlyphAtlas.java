@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.text;
+
+import org.jetbrains.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.util.*;
+
+import dk.martinu.ao.client.util.DisplayList;
+
+/**
+ * Images holding the alpha bitmaps of all glyphs in a {@link Font}, packed
+ * into one or a few pages when the font is created. Text is drawn by
+ * blitting regions of a page, without allocating an image per string.
+ * <p>
+ * Pages are white, with the alpha values of the glyphs. To draw text in
+ * another color, a tinted copy of each page is created the first time it is
+ * drawn in that color, and kept for the most recently used colors.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @see Font#paint(Graphics2D, int[], int, int)
+ * @since 1.0
+ */
+final class GlyphAtlas {
+
+    /**
+     * Maximum width and height of a page.
+     */
+    static final int MAX_PAGE_SIZE = 1024;
+    /**
+     * Maximum number of colors that tinted pages are kept for.
+     */
+    static final int MAX_COLORS = 16;
+    /**
+     * Padding between glyphs, to avoid bleeding when scaled.
+     */
+    private static final int PADDING = 1;
+
+    /**
+     * Packs the alpha bitmaps of the specified glyphs into an atlas. Glyphs
+     * are sorted by height and placed on shelves, left to right, starting a
+     * new page when a page is full.
+     *
+     * @param glyphs the glyphs to pack
+     * @return a new atlas
+     * @throws IllegalArgumentException if a glyph is larger than a page
+     */
+    @Contract(value = "_ -> new", pure = true)
+    @NotNull
+    static GlyphAtlas pack(@NotNull final Glyph[] glyphs) {
+        // pack the tallest glyphs first, which wastes less space on shelves
+        final Integer[] order = new Integer[glyphs.length];
+        for (int i = 0; i < order.length; i++)
+            order[i] = i;
+        Arrays.sort(order, Comparator.comparingInt((Integer i) -> glyphs[i].height).reversed());
+
+        // location of each glyph: page, x, y; page is -1 for glyphs without data
+        final int[] locations = new int[glyphs.length * 3];
+        final ArrayList<Dimension> pageSizes = new ArrayList<>();
+        int page = -1;
+        int x = MAX_PAGE_SIZE, y = 0, shelfHeight = 0, pageWidth = 0;
+        for (final int i : order) {
+            final Glyph glyph = glyphs[i];
+            if (glyph.data.length == 0) {
+                locations[i * 3] = -1;
+                continue;
+            }
+            if (glyph.width + PADDING > MAX_PAGE_SIZE || glyph.height + PADDING > MAX_PAGE_SIZE)
+                throw new IllegalArgumentException("glyph is larger than atlas page (" + i + ")");
+            // start a new shelf
+            if (x + glyph.width + PADDING > MAX_PAGE_SIZE) {
+                x = 0;
+                y += shelfHeight;
+                shelfHeight = glyph.height + PADDING;
+            }
+            // start a new page
+            if (page == -1 || y + glyph.height + PADDING > MAX_PAGE_SIZE) {
+                if (page != -1)
+                    pageSizes.get(page).setSize(pageWidth, y);
+                pageSizes.add(new Dimension());
+                page++;
+                x = y = pageWidth = 0;
+                shelfHeight = glyph.height + PADDING;
+            }
+            locations[i * 3] = page;
+            locations[i * 3 + 1] = x;
+            locations[i * 3 + 2] = y;
+            x += glyph.width + PADDING;
+            pageWidth = Math.max(pageWidth, x);
+        }
+        if (page != -1)
+            pageSizes.get(page).setSize(pageWidth, y + shelfHeight);
+
+        // copy alpha values into white pages
+        final BufferedImage[] pages = new BufferedImage[pageSizes.size()];
+        for (int p = 0; p < pages.length; p++) {
+            final Dimension size = pageSizes.get(p);
+            pages[p] = new BufferedImage(size.width, size.height, BufferedImage.TYPE_INT_ARGB);
+        }
+        int[] pixels = new int[0];
+        for (int i = 0; i < glyphs.length; i++) {
+            final Glyph glyph = glyphs[i];
+            if (locations[i * 3] == -1)
+                continue;
+            final int len = glyph.width * glyph.height;
+            if (pixels.length < len)
+                pixels = new int[len];
+            for (int j = 0; j < len; j++)
+                pixels[j] = (glyph.data[j] & 0xFF) << 24 | 0xFFFFFF;
+            // writing through the raster keeps the image managed
+            final WritableRaster raster = pages[locations[i * 3]].getRaster();
+            raster.setDataElements(locations[i * 3 + 1], locations[i * 3 + 2], glyph.width, glyph.height, pixels);
+        }
+        return new GlyphAtlas(glyphs, pages, locations);
+    }
+
+    /**
+     * The packed glyphs.
+     */
+    @NotNull
+    private final Glyph[] glyphs;
+    /**
+     * White pages holding the glyphs.
+     */
+    @NotNull
+    private final BufferedImage[] pages;
+    /**
+     * Location of each glyph, as triples of page, x and y.
+     */
+    private final int[] locations;
+    /**
+     * Tinted pages of the most recently used colors, in access order.
+     */
+    @NotNull
+    private final LinkedHashMap<Color, BufferedImage[]> tinted = new LinkedHashMap<>(MAX_COLORS, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Color, BufferedImage[]> eldest) {
+            return size() > MAX_COLORS;
+        }
+    };
+
+    private GlyphAtlas(@NotNull final Glyph[] glyphs, @NotNull final BufferedImage[] pages,
+            final int[] locations) {
+        this.glyphs = glyphs;
+        this.pages = pages;
+        this.locations = locations;
+    }
+
+    /**
+     * Draws the glyph with the specified index at the specified position,
+     * from the specified pages.
+     *
+     * @param g     the graphics context
+     * @param pages the pages to draw from
+     * @param index the index of the glyph
+     * @param x     the x-coordinate of the glyph
+     * @param y     the y-coordinate of the top of the line the glyph is on
+     */
+    void draw(@NotNull final Graphics2D g, @NotNull final BufferedImage[] pages, final int index, final int x,
+            final int y) {
+        final int page = locations[index * 3];
+        if (page == -1)
+            return;
+        final Glyph glyph = glyphs[index];
+        final int sx = locations[index * 3 + 1];
+        final int sy = locations[index * 3 + 2];
+        final int dy = y + glyph.offsetY;
+        g.drawImage(pages[page], x, dy, x + glyph.width, dy + glyph.height, sx, sy, sx + glyph.width,
+                sy + glyph.height, null);
+    }
+
+    /**
+     * Returns the number of pages in this atlas.
+     */
+    @Contract(pure = true)
+    int getPageCount() {
+        return pages.length;
+    }
+
+    /**
+     * Returns the pages of this atlas in the specified color. White pages
+     * are returned as is; pages in other colors are created and cached the
+     * first time they are requested.
+     */
+    @NotNull
+    BufferedImage[] getPages(@NotNull final Color color) {
+        if (color.getRGB() == 0xFFFFFFFF)
+            return pages;
+        synchronized (tinted) {
+            BufferedImage[] rv = tinted.get(color);
+            if (rv == null) {
+                rv = new BufferedImage[pages.length];
+                for (int p = 0; p < pages.length; p++) {
+                    final BufferedImage page = pages[p];
+                    rv[p] = new BufferedImage(page.getWidth(), page.getHeight(), BufferedImage.TYPE_INT_ARGB);
+                    final Graphics2D g = rv[p].createGraphics();
+                    g.drawImage(page, 0, 0, null);
+                    // keep the alpha of the glyphs, replace their color
+                    g.setComposite(AlphaComposite.SrcIn);
+                    g.setColor(color);
+                    g.fillRect(0, 0, page.getWidth(), page.getHeight());
+                    g.dispose();
+                }
+                tinted.put(color, rv);
+            }
+            return rv;
+        }
+    }
+
+    /**
+     * Records a command that draws the glyph with the specified index into
+     * the specified display list.
+     *
+     * @see #draw(Graphics2D, BufferedImage[], int, int, int)
+     */
+    void record(@NotNull final DisplayList list, @NotNull final BufferedImage[] pages, final int index,
+            final int x, final int y) {
+        final int page = locations[index * 3];
+        if (page == -1)
+            return;
+        final Glyph glyph = glyphs[index];
+        list.drawImage(pages[page], x, y + glyph.offsetY, locations[index * 3 + 1], locations[index * 3 + 2],
+                glyph.width, glyph.height);
+    }
+}
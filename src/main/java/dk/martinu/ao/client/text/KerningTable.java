@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.text;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Kerning pairs of a {@link Font}, compiled when the font is created into an
+ * open addressing hash table with constant time lookup. The horizontal
+ * offsets of each {@link Glyph} are otherwise stored as an array of pairs
+ * that must be scanned for every adjacent glyph pair.
+ * <p>
+ * Most glyphs are not kerned against anything, so a bit set of glyphs that
+ * have kerning pairs is checked first, which avoids probing the table for
+ * the majority of glyph pairs.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @see Glyph#offsetX
+ * @since 1.0
+ */
+final class KerningTable {
+
+    /**
+     * Marks an empty slot in the table.
+     */
+    private static final long EMPTY = -1L;
+
+    /**
+     * Compiles the kerning pairs of the specified glyphs into a table.
+     * Offsets of {@code 0} are not stored. If a glyph has several offsets
+     * for the same preceding glyph, the first is used, as with
+     * {@link Glyph#getOffsetX(int)}.
+     *
+     * @param glyphs the glyphs of a font
+     * @return a new table
+     */
+    @Contract(value = "_ -> new", pure = true)
+    @NotNull
+    static KerningTable compile(@NotNull final Glyph[] glyphs) {
+        int pairs = 0;
+        for (final Glyph glyph : glyphs)
+            pairs += glyph.offsetX.length / 2;
+        // load factor of at most 0.5 keeps probe sequences short
+        final int capacity = Integer.highestOneBit(Math.max(pairs, 4) * 2 - 1) << 1;
+        final KerningTable table = new KerningTable(glyphs.length, capacity);
+        for (int i = 0; i < glyphs.length; i++) {
+            final int[] offsetX = glyphs[i].offsetX;
+            for (int j = 0; j + 1 < offsetX.length; j += 2)
+                if (offsetX[j + 1] != 0)
+                    table.putIfAbsent(offsetX[j], i, offsetX[j + 1]);
+        }
+        return table;
+    }
+
+    /**
+     * Mixes the specified key into a hash code, such that pairs of
+     * consecutive glyph indices spread over the table.
+     */
+    @Contract(pure = true)
+    private static int hash(final long key) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ h >>> 32);
+    }
+
+    /**
+     * Keys of the table; the index of the preceding glyph in the upper 32
+     * bits and the index of the kerned glyph in the lower 32 bits.
+     */
+    private final long[] keys;
+    /**
+     * Offsets of the table.
+     */
+    private final int[] offsets;
+    /**
+     * Bit set of glyphs that are kerned against at least one preceding
+     * glyph.
+     */
+    private final long[] kerned;
+    /**
+     * Number of kerning pairs in the table.
+     */
+    private int size = 0;
+
+    private KerningTable(final int glyphCount, final int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        offsets = new int[capacity];
+        kerned = new long[(glyphCount + 63) >>> 6];
+    }
+
+    /**
+     * Returns the horizontal offset between the glyph with index
+     * {@code right} and the preceding glyph with index {@code left}, or
+     * {@code 0} if the pair is not kerned.
+     *
+     * @see Glyph#getOffsetX(int)
+     */
+    @Contract(pure = true)
+    int get(final int left, final int right) {
+        if ((kerned[right >>> 6] & 1L << right) == 0L)
+            return 0;
+        final long key = (long) left << 32 | right;
+        final int mask = keys.length - 1;
+        long k;
+        for (int i = hash(key) & mask; (k = keys[i]) != EMPTY; i = i + 1 & mask)
+            if (k == key)
+                return offsets[i];
+        return 0;
+    }
+
+    /**
+     * Returns the number of kerning pairs in this table.
+     */
+    @Contract(pure = true)
+    int size() {
+        return size;
+    }
+
+    /**
+     * Adds the specified pair, unless the table already contains it.
+     */
+    private void putIfAbsent(final int left, final int right, final int offset) {
+        final long key = (long) left << 32 | right;
+        final int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        for (long k; (k = keys[i]) != EMPTY; i = i + 1 & mask)
+            if (k == key)
+                return;
+        keys[i] = key;
+        offsets[i] = offset;
+        kerned[right >>> 6] |= 1L << right;
+        size++;
+    }
+}
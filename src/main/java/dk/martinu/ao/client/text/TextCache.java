@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.text;
+
+import org.jetbrains.annotations.*;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.*;
+
+/**
+ * A bounded cache of text laid out with a {@link Font}. For each string, the
+ * cache keeps the run of glyph indices and the measured width, and optionally
+ * the rendered line image in a given color. UI labels redraw the same strings
+ * every frame, which then costs a single lookup, with no allocation.
+ * <p>
+ * Entries are evicted in least recently used order when the estimated memory
+ * used by the cache exceeds its budget. The budget can be changed at any
+ * time; a budget of {@code 0} disables caching. Hits, misses and evictions
+ * are counted to tune the budget. The cache is thread-safe.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @see Font#getTextCache()
+ * @since 1.0
+ */
+public final class TextCache {
+
+    /**
+     * Default memory budget in bytes.
+     */
+    public static final long DEFAULT_MEMORY_BUDGET = 1L << 20;
+    /**
+     * Estimated memory in bytes used by an entry, besides its arrays and
+     * image.
+     */
+    private static final int ENTRY_OVERHEAD = 96;
+
+    /**
+     * The font that text is laid out with.
+     */
+    @NotNull
+    private final Font font;
+    /**
+     * Cached entries in access order, keyed by string or {@link ImageKey}.
+     */
+    @NotNull
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(64, 0.75F, true);
+    private long memoryBudget = DEFAULT_MEMORY_BUDGET;
+    private long memoryUsage = 0L;
+    private long hits = 0L;
+    private long misses = 0L;
+    private long evictions = 0L;
+
+    /**
+     * Constructs a new, empty cache for the specified font.
+     */
+    TextCache(@NotNull final Font font) {
+        this.font = Objects.requireNonNull(font, "font is null");
+    }
+
+    /**
+     * Removes all entries from this cache. Counters are not reset.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        memoryUsage = 0L;
+    }
+
+    /**
+     * Returns the number of entries that have been evicted to stay within
+     * the memory budget.
+     */
+    @Contract(pure = true)
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Returns the number of lookups that found a cached entry.
+     */
+    @Contract(pure = true)
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Returns the maximum amount of memory in bytes this cache can use.
+     */
+    @Contract(pure = true)
+    public synchronized long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * Returns the estimated amount of memory in bytes used by this cache.
+     */
+    @Contract(pure = true)
+    public synchronized long getMemoryUsage() {
+        return memoryUsage;
+    }
+
+    /**
+     * Returns the number of lookups that did not find a cached entry.
+     */
+    @Contract(pure = true)
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of cached entries.
+     */
+    @Contract(pure = true)
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * Sets the maximum amount of memory in bytes this cache can use, and
+     * evicts entries until it is within the budget.
+     *
+     * @param bytes the memory budget, or {@code 0} to disable caching
+     * @throws IllegalArgumentException if {@code bytes} is less than
+     *                                  {@code 0}
+     */
+    public synchronized void setMemoryBudget(final long bytes) {
+        if (bytes < 0L)
+            throw new IllegalArgumentException("bytes is less than 0");
+        memoryBudget = bytes;
+        evict();
+    }
+
+    @NotNull
+    @Override
+    public synchronized String toString() {
+        return getClass().getName() + "[font=" + font.name + ", size=" + entries.size() + ", memoryUsage="
+                + memoryUsage + ", memoryBudget=" + memoryBudget + ", hits=" + hits + ", misses=" + misses
+                + ", evictions=" + evictions + ']';
+    }
+
+    /**
+     * Returns the image of the specified string rendered in the specified
+     * color, from the cache if possible.
+     *
+     * @see Font#getLineImage(String, Color)
+     */
+    @NotNull
+    BufferedImage getImage(@NotNull final String s, @NotNull final Color color) {
+        final ImageKey key = new ImageKey(s, color.getRGB());
+        synchronized (this) {
+            final Entry entry = entries.get(key);
+            if (entry != null) {
+                hits++;
+                return (BufferedImage) entry.value;
+            }
+            misses++;
+        }
+        // the image lookup has been counted already
+        final BufferedImage image = font.createLineImage(getRun(s, false), color);
+        put(key, image, ENTRY_OVERHEAD + s.length() * 2L + (long) image.getWidth() * image.getHeight() * 4L);
+        return image;
+    }
+
+    /**
+     * Returns the run of glyph indices of the specified string, from the
+     * cache if possible.
+     */
+    @NotNull
+    Run getRun(@NotNull final String s) {
+        return getRun(s, true);
+    }
+
+    /**
+     * Returns the run of glyph indices of the specified string, from the
+     * cache if possible. The lookup is counted as a hit or miss only if
+     * {@code count} is {@code true}.
+     */
+    @NotNull
+    private Run getRun(@NotNull final String s, final boolean count) {
+        synchronized (this) {
+            final Entry entry = entries.get(s);
+            if (entry != null) {
+                if (count)
+                    hits++;
+                return (Run) entry.value;
+            }
+            if (count)
+                misses++;
+        }
+        final Run run = font.createRun(s);
+        put(s, run, ENTRY_OVERHEAD + s.length() * 2L + run.ids.length * 4L);
+        return run;
+    }
+
+    /**
+     * Evicts the least recently used entries until the memory usage is
+     * within the budget.
+     */
+    private void evict() {
+        final Iterator<Entry> iterator = entries.values().iterator();
+        while (memoryUsage > memoryBudget && iterator.hasNext()) {
+            memoryUsage -= iterator.next().size;
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Adds an entry of the specified size, unless it is larger than the
+     * memory budget, and evicts entries as needed.
+     */
+    private synchronized void put(@NotNull final Object key, @NotNull final Object value, final long size) {
+        if (size > memoryBudget)
+            return;
+        final Entry previous = entries.put(key, new Entry(value, size));
+        if (previous != null)
+            memoryUsage -= previous.size;
+        memoryUsage += size;
+        evict();
+    }
+
+    /**
+     * A cached value and its estimated size in bytes.
+     */
+    private record Entry(@NotNull Object value, long size) { }
+
+    /**
+     * Key of a cached line image.
+     */
+    private record ImageKey(@NotNull String text, int rgb) { }
+
+    /**
+     * A string laid out as a run of glyph indices, on a single line.
+     */
+    static final class Run {
+
+        /**
+         * Glyph indices of the characters that have a glyph, in order.
+         */
+        final int[] ids;
+        /**
+         * Total width of the glyphs in pixels.
+         */
+        final int width;
+
+        Run(final int[] ids, final int width) {
+            this.ids = ids;
+            this.width = width;
+        }
+    }
+}
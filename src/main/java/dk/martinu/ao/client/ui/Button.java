@@ -42,6 +42,9 @@ public class Button extends Component {
     public void setText(final @Nullable String text) {
         if (text == null)
             throw new NullPointerException("text must not be null");
-        this.text = text;
+        if (!text.equals(this.text)) {
+            this.text = text;
+            repaint();
+        }
     }
 }
@@ -26,6 +26,7 @@ import java.util.ArrayList;
 import java.util.Objects;
 
 import dk.martinu.ao.client.targets.Target;
+import dk.martinu.ao.client.util.DisplayList;
 import dk.martinu.ao.client.util.Sound;
 import dk.martinu.kofi.properties.IntProperty;
 
@@ -70,6 +71,9 @@ public class Component {
     // style descriptor
     @Nullable
     protected String styleName = null;
+    // commands recorded when this component was last painted, null if damaged
+    @Nullable
+    protected DisplayList displayList = null;
 
     public Component() {
         this(null);
@@ -212,15 +216,88 @@ public class Component {
             delegate.paint(g, this);
     }
 
+    /**
+     * Records a command that paints this component into the specified display
+     * list. The commands of this component are recorded into a display list of
+     * its own, which is reused until this component is
+     * {@link #repaint() repainted}, so recording an unchanged component costs
+     * a single command. The recorded commands can be replayed on another
+     * thread, but must not be replayed concurrently with logic that changes
+     * this component.
+     *
+     * @param list the display list to record into
+     * @see DisplayList#call(DisplayList, int, int, int, int)
+     */
+    public void record(@NotNull final DisplayList list) {
+        if (displayList == null) {
+            // the previous display list may still be replayed; do not reuse it
+            final DisplayList dl = new DisplayList(list);
+            recordDisplayList(dl);
+            displayList = dl;
+        }
+        list.call(displayList, x, y, width, height);
+    }
+
+    /**
+     * Discards the recorded display list of this component, e.g. because text
+     * must be measured again after the quality profile changed.
+     *
+     * @see #record(DisplayList)
+     */
+    public void discardDisplayList() {
+        displayList = null;
+    }
+
+    /**
+     * Marks the bounds of this component as damaged, so it is repainted in
+     * the next frame, and discards its recorded display list. Does nothing
+     * else if this component is not in a {@link Scene}.
+     *
+     * @see Scene#collectDamage(java.awt.Rectangle)
+     */
+    public void repaint() {
+        displayList = null;
+        if (parent != null && width > 0 && height > 0)
+            parent.damage(x, y, width, height);
+    }
+
     public boolean removeAction(@NotNull final Action action) {
         return actions.remove(Objects.requireNonNull(action, "action is null"));
     }
 
+    /**
+     * Sets the bounds of this component. If the bounds change, then both the
+     * old and new bounds are {@link #repaint() damaged}.
+     */
+    public void setBounds(final int x, final int y, final int width, final int height) {
+        if (x == this.x && y == this.y && width == this.width && height == this.height)
+            return;
+        repaint();
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        repaint();
+    }
+
+    /**
+     * Records the commands that paint this component into its own display
+     * list. The default implementation records the delegate, if any.
+     *
+     * @param list the display list of this component
+     * @see Delegate#record(DisplayList, Component)
+     */
+    protected void recordDisplayList(@NotNull final DisplayList list) {
+        if (delegate != null)
+            delegate.record(list, this);
+    }
+
     public void setDelegate(@Nullable final Delegate delegate) {
         if (this.delegate != null)
             this.delegate.uninstallComponent(this);
         if ((this.delegate = delegate) != null)
             delegate.installComponent(this);
+        repaint();
     }
 
     public void setDraggable(final boolean draggable) {
@@ -228,15 +305,21 @@ public class Component {
     }
 
     public void setEnabled(final boolean enabled) {
-        this.enabled = enabled;
+        if (this.enabled != enabled) {
+            this.enabled = enabled;
+            repaint();
+        }
     }
 
     public void setHeight(final int height) {
-        this.height = height;
+        setBounds(x, y, width, height);
     }
 
     public void setMouseover(final boolean mouseover) {
-        this.mouseover = mouseover;
+        if (this.mouseover != mouseover) {
+            this.mouseover = mouseover;
+            repaint();
+        }
         if (delegate == null)
             return;
         final Sound soundMouseover = delegate.getSound(MOUSEOVER, mouseover);
@@ -258,12 +341,14 @@ public class Component {
     }
 
     public void setPosition(final int x, final int y) {
-        this.x = x;
-        this.y = y;
+        setBounds(x, y, width, height);
     }
 
     public void setPressed(final boolean pressed) {
-        this.pressed = pressed;
+        if (this.pressed != pressed) {
+            this.pressed = pressed;
+            repaint();
+        }
         if (delegate == null)
             return;
         final Sound soundPressed = delegate.getSound(PRESSED, pressed);
@@ -277,30 +362,31 @@ public class Component {
     }
 
     public void setSize(final int width, final int height) {
-        this.width = width;
-        this.height = height;
+        setBounds(x, y, width, height);
     }
 
     public void setSize(@NotNull final Size size) {
         Objects.requireNonNull(size, "size is null");
-        width = size.getWidth();
-        height = size.getHeight();
+        setBounds(x, y, size.getWidth(), size.getHeight());
     }
 
     public void setVisible(final boolean visible) {
-        this.visible = visible;
+        if (this.visible != visible) {
+            this.visible = visible;
+            repaint();
+        }
     }
 
     public void setWidth(final int width) {
-        this.width = width;
+        setBounds(x, y, width, height);
     }
 
     public void setX(final int x) {
-        this.x = x;
+        setBounds(x, y, width, height);
     }
 
     public void setY(final int y) {
-        this.y = y;
+        setBounds(x, y, width, height);
     }
 
     @NotNull
@@ -23,6 +23,8 @@ import java.awt.Point;
 import java.util.*;
 import java.util.function.Consumer;
 
+import dk.martinu.ao.client.util.DisplayList;
+
 public class Container extends Component implements Iterable<Component> {
 
     @NotNull
@@ -46,6 +48,30 @@ public class Container extends Component implements Iterable<Component> {
             component.getParent().removeComponent(component);
         components.add(component);
         component.setParent(this);
+        component.repaint();
+    }
+
+    /**
+     * Marks the specified region as damaged, so it is repainted in the next
+     * frame. The region is relative to this container, in the same
+     * coordinate space as its components. The default implementation
+     * discards the recorded display list of this container, which calls the
+     * display lists of its components, and translates the region and passes
+     * it to the parent of this container.
+     *
+     * @see Component#repaint()
+     */
+    public void damage(final int x, final int y, final int width, final int height) {
+        displayList = null;
+        if (parent != null)
+            parent.damage(this.x + x, this.y + y, width, height);
+    }
+
+    @Override
+    public void discardDisplayList() {
+        super.discardDisplayList();
+        for (final Component component : components)
+            component.discardDisplayList();
     }
 
     @Override
@@ -129,16 +155,33 @@ public class Container extends Component implements Iterable<Component> {
         // paint components
         g.translate(x, y);
         for (final Component c : components)
-            if (c.isVisible())
+            // skip components outside the damaged region
+            if (c.isVisible() && g.hitClip(c.getX(), c.getY(), c.getWidth(), c.getHeight()))
                 c.paint(g);
         g.translate(-x, -y);
     }
 
+    /**
+     * Records the delegate of this container, followed by commands that call
+     * the display lists of its visible components.
+     */
+    @Override
+    protected void recordDisplayList(@NotNull final DisplayList list) {
+        super.recordDisplayList(list);
+        list.translate(x, y);
+        for (final Component c : components)
+            if (c.isVisible())
+                c.record(list);
+        list.translate(-x, -y);
+    }
+
     public boolean removeComponent(@NotNull final Component component) {
         Objects.requireNonNull(component, "component is null");
         final boolean wasRemoved = components.remove(component);
-        if (wasRemoved)
+        if (wasRemoved) {
+            component.repaint();
             component.setParent(null);
+        }
         return wasRemoved;
     }
 
@@ -147,6 +190,7 @@ public class Container extends Component implements Iterable<Component> {
         if (index < 0 || index >= components.size())
             throw new IndexOutOfBoundsException();
         final Component c = components.remove(index);
+        c.repaint();
         c.setParent(null);
         return c;
     }
@@ -157,6 +201,7 @@ public class Container extends Component implements Iterable<Component> {
         for (Component c : components)
             if (Objects.equals(c.getName(), name)) {
                 components.remove(c);
+                c.repaint();
                 c.setParent(null);
                 return c;
             }
@@ -21,10 +21,16 @@ import org.jetbrains.annotations.Nullable;
 
 import java.awt.*;
 
+import dk.martinu.ao.client.util.DisplayList;
 import dk.martinu.ao.client.util.Sound;
 
 public class DefaultDelegate implements Delegate {
 
+    /**
+     * Specification of the default font, see {@link Font#decode(String)}.
+     */
+    public static final String DEFAULT_FONT = "Arial BOLD 12";
+
     private static @Nullable DefaultDelegate instance = null;
 
     public static @Nullable Delegate getInstance() {
@@ -43,7 +49,7 @@ public class DefaultDelegate implements Delegate {
     public Color disabled = Color.GRAY;
     public Color border = Color.WHITE;
     public int borderThickness = 1;
-    public Font font = Font.decode("Arial BOLD 12");
+    public Font font = Font.decode(DEFAULT_FONT);
 
     private DefaultDelegate() { }
 
@@ -87,99 +93,130 @@ public class DefaultDelegate implements Delegate {
         return this;
     }
 
+    /**
+     * Paints the specified component directly with {@code g}. Painting and
+     * {@link #record(DisplayList, Component) recording} a component draw the
+     * same, since both use the same helpers to choose colors, text and its
+     * position.
+     */
     @Override
     public void paint(@NotNull final Graphics2D g, final @NotNull Component c) {
-        if (c instanceof Label) {
-            final Label l = (Label) c;
+        final int inset = Math.max(borderThickness, 0);
+        if (inset > 0) {
+            g.setColor(getBorderColor(c));
+            g.drawRect(c.getX(), c.getY(), c.getWidth() - 1, c.getHeight() - 1);
+        }
+        g.setColor(background);
+        g.fillRect(c.getX() + inset, c.getY() + inset, c.getWidth() - inset * 2, c.getHeight() - inset * 2);
+        final String text = getText(c);
+        if (text == null)
+            return;
+        final FontMetrics fm = g.getFontMetrics(font);
+        g.setColor(getTextColor(c));
+        g.setFont(font);
+        g.drawString(text, getTextX(c, fm, text), getTextY(c, fm));
+    }
 
-            if (borderThickness > 0) {
-                if (!l.isEnabled())
-                    g.setColor(disabled);
-                else
-                    g.setColor(border);
-                g.drawRect(l.getX(), l.getY(), l.getWidth() - 1, l.getHeight() - 1);
+    @Override
+    public void record(@NotNull final DisplayList list, final @NotNull Component c) {
+        final int inset = Math.max(borderThickness, 0);
+        if (inset > 0) {
+            list.setColor(getBorderColor(c));
+            list.drawRect(c.getX(), c.getY(), c.getWidth() - 1, c.getHeight() - 1);
+        }
+        list.setColor(background);
+        list.fillRect(c.getX() + inset, c.getY() + inset, c.getWidth() - inset * 2, c.getHeight() - inset * 2);
+        final String text = getText(c);
+        if (text == null)
+            return;
+        final FontMetrics fm = list.getFontMetrics(font);
+        list.setColor(getTextColor(c));
+        list.setFont(font);
+        list.drawString(text, getTextX(c, fm, text), getTextY(c, fm));
+    }
 
-                g.setColor(background);
-                g.fillRect(l.getX() + borderThickness, l.getY() + borderThickness,
-                        l.getWidth() - borderThickness * 2, l.getHeight() - borderThickness * 2);
+    public @NotNull DefaultDelegate pressed(final Color pressed) {
+        this.pressed = pressed;
+        return this;
+    }
 
-            }
-            else {
-                g.setColor(background);
-                g.fillRect(l.getX(), l.getY(), l.getWidth(), l.getHeight());
-            }
+    @Override
+    public void uninstallComponent(final @NotNull Component component) { }
 
-            if (!l.isEnabled())
-                g.setColor(disabled);
-            else
-                g.setColor(foreground);
-            g.setFont(font);
-            final FontMetrics fm = g.getFontMetrics();
-            final String text = l.getText();
-            final float h = l.getHorizontalAlignment();
-            final float v = l.getVerticalAlignment();
-            g.drawString(text, (int) (l.getX() + (l.getWidth() - fm.stringWidth(text)) * h),
-                    (int) (l.getY() + (l.getHeight() - fm.getHeight()) * v + fm.getAscent()));
+    /**
+     * Returns the color of the border of the specified component.
+     */
+    @NotNull
+    private Color getBorderColor(@NotNull final Component c) {
+        if (c instanceof Label l)
+            return l.isEnabled() ? border : disabled;
+        if (c instanceof Button b) {
+            final Color state = getStateColor(b);
+            return state != null ? state : border;
         }
-        else if (c instanceof Button) {
-            final Button b = (Button) c;
-
-            if (borderThickness > 0) {
-                if (!b.isEnabled())
-                    g.setColor(disabled);
-                else if (b.isPressed())
-                    g.setColor(pressed);
-                else if (b.isMouseover())
-                    g.setColor(mouseover);
-                else
-                    g.setColor(border);
-                g.drawRect(b.getX(), b.getY(), b.getWidth() - 1, b.getHeight() - 1);
-
-                g.setColor(background);
-                g.fillRect(b.getX() + borderThickness, b.getY() + borderThickness,
-                        b.getWidth() - borderThickness * 2, b.getHeight() - borderThickness * 2);
-            }
-            else {
-                g.setColor(background);
-                g.fillRect(b.getX(), b.getY(), b.getWidth(), b.getHeight());
-            }
+        return border;
+    }
 
-            if (!b.isEnabled())
-                g.setColor(disabled);
-            else if (b.isPressed())
-                g.setColor(pressed);
-            else if (b.isMouseover())
-                g.setColor(mouseover);
-            else
-                g.setColor(foreground);
-            g.setFont(font);
-            final FontMetrics fm = g.getFontMetrics();
-            final String text = b.getText();
-            g.drawString(text, b.getX() + (b.getWidth() - fm.stringWidth(text)) / 2,
-                    b.getY() + (b.getHeight() - fm.getHeight()) / 2 + fm.getAscent());
-        }
-        else {
-            if (borderThickness > 0) {
-                g.setColor(border);
-                g.drawRect(c.getX(), c.getY(), c.getWidth() - 1, c.getHeight() - 1);
+    /**
+     * Returns the color of the specified button in its current state, or
+     * {@code null} if it is enabled and neither pressed nor under the mouse.
+     */
+    @Nullable
+    private Color getStateColor(@NotNull final Button b) {
+        if (!b.isEnabled())
+            return disabled;
+        else if (b.isPressed())
+            return pressed;
+        else if (b.isMouseover())
+            return mouseover;
+        else
+            return null;
+    }
 
-                g.setColor(background);
-                g.fillRect(c.getX() + borderThickness, c.getY() + borderThickness,
-                        c.getWidth() - borderThickness * 2, c.getHeight() - borderThickness * 2);
+    /**
+     * Returns the text of the specified component, or {@code null} if it has
+     * no text to paint.
+     */
+    @Nullable
+    private String getText(@NotNull final Component c) {
+        if (c instanceof Label l)
+            return l.getText();
+        if (c instanceof Button b)
+            return b.getText();
+        return null;
+    }
 
-            }
-            else {
-                g.setColor(background);
-                g.fillRect(c.getX(), c.getY(), c.getWidth(), c.getHeight());
-            }
+    /**
+     * Returns the color of the text of the specified component.
+     */
+    @NotNull
+    private Color getTextColor(@NotNull final Component c) {
+        if (c instanceof Label l)
+            return l.isEnabled() ? foreground : disabled;
+        if (c instanceof Button b) {
+            final Color state = getStateColor(b);
+            return state != null ? state : foreground;
         }
+        return foreground;
     }
 
-    public @NotNull DefaultDelegate pressed(final Color pressed) {
-        this.pressed = pressed;
-        return this;
+    /**
+     * Returns the x-coordinate of the baseline of the specified text, aligned
+     * within the specified component.
+     */
+    private int getTextX(@NotNull final Component c, @NotNull final FontMetrics fm, @NotNull final String text) {
+        if (c instanceof Label l)
+            return (int) (l.getX() + (l.getWidth() - fm.stringWidth(text)) * l.getHorizontalAlignment());
+        return c.getX() + (c.getWidth() - fm.stringWidth(text)) / 2;
     }
 
-    @Override
-    public void uninstallComponent(final @NotNull Component component) { }
+    /**
+     * Returns the y-coordinate of the baseline of text, aligned within the
+     * specified component.
+     */
+    private int getTextY(@NotNull final Component c, @NotNull final FontMetrics fm) {
+        if (c instanceof Label l)
+            return (int) (l.getY() + (l.getHeight() - fm.getHeight()) * l.getVerticalAlignment() + fm.getAscent());
+        return c.getY() + (c.getHeight() - fm.getHeight()) / 2 + fm.getAscent();
+    }
 }
@@ -21,6 +21,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.awt.Graphics2D;
 
+import dk.martinu.ao.client.util.DisplayList;
 import dk.martinu.ao.client.util.Sound;
 
 public interface Delegate {
@@ -32,6 +33,30 @@ public interface Delegate {
 
     void paint(@NotNull final Graphics2D g, @NotNull final Component c);
 
+    /**
+     * Records the commands to paint the specified component into a display
+     * list, such that replaying them is equivalent to
+     * {@link #paint(Graphics2D, Component) painting} the component. Text
+     * must be measured with {@link DisplayList#getFontMetrics(java.awt.Font)}.
+     * The component must not be referenced by the recorded commands, which
+     * can be replayed on another thread.
+     * <p>
+     * The default implementation records a single command that calls
+     * {@link #paint(Graphics2D, Component)} when the list is replayed. The
+     * component is then painted with its state at the time of replay, on the
+     * replaying thread, so delegates should override this method.
+     *
+     * @param list the display list to record into
+     * @param c    the component to record
+     * @see Component#record(DisplayList)
+     * @see DisplayList#paint(java.util.function.Consumer)
+     */
+    default void record(@NotNull final DisplayList list, @NotNull final Component c) {
+        list.save();
+        list.paint(g -> paint(g, c));
+        list.restore();
+    }
+
     void uninstallComponent(@NotNull final Component component);
 
 }
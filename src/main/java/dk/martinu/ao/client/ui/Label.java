@@ -18,6 +18,8 @@ package dk.martinu.ao.client.ui;
 
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Objects;
+
 public class Label extends Component {
 
     public static final float TOP = 0.0F;
@@ -55,15 +57,20 @@ public class Label extends Component {
         if (alignment < 0.0F || alignment > 1.0F)
             throw new IllegalArgumentException("alignment must be between 0.0F and 1.0F inclusive");
         horizontalAlignment = alignment;
+        repaint();
     }
 
     public void setText(@Nullable final String text) {
-        this.text = text;
+        if (!Objects.equals(this.text, text)) {
+            this.text = text;
+            repaint();
+        }
     }
 
     public void setVerticalAlignment(final float alignment) {
         if (alignment < 0.0F || alignment > 1.0F)
             throw new IllegalArgumentException("alignment must be between 0.0F and 1.0F inclusive");
         verticalAlignment = alignment;
+        repaint();
     }
 }
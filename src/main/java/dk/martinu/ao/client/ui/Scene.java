@@ -19,6 +19,7 @@ package dk.martinu.ao.client.ui;
 import org.jetbrains.annotations.*;
 
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 
 import dk.martinu.ao.client.util.Resolution;
 
@@ -36,6 +37,36 @@ public class Scene extends Container {
     protected int caretPosition = -1;
     protected long caretTime = 500L;
     protected boolean drawCaret = true;
+    // union of damaged regions since damage was last collected
+    private int damageX1 = 0;
+    private int damageY1 = 0;
+    private int damageX2 = 0;
+    private int damageY2 = 0;
+    private boolean damaged = false;
+
+    /**
+     * Sets {@code rect} to the union of regions that have been damaged since
+     * the last call to this method, and clears the damage. The region is in
+     * the coordinate space the scene is painted in.
+     *
+     * @param rect the rectangle to set
+     * @return {@code true} if any region was damaged, otherwise
+     * {@code false}, in which case {@code rect} is not changed
+     * @see Component#repaint()
+     */
+    public synchronized boolean collectDamage(@NotNull final Rectangle rect) {
+        if (!damaged)
+            return false;
+        rect.setBounds(damageX1, damageY1, damageX2 - damageX1, damageY2 - damageY1);
+        damaged = false;
+        return true;
+    }
+
+    @Override
+    public void damage(final int x, final int y, final int width, final int height) {
+        displayList = null;
+        addDamage(this.x + x, this.y + y, width, height);
+    }
 
     @Contract(pure = true)
     @Nullable
@@ -89,6 +120,14 @@ public class Scene extends Container {
         // TODO paint caret
     }
 
+    /**
+     * Marks the entire scene as damaged.
+     */
+    @Override
+    public void repaint() {
+        addDamage(x, y, width, height);
+    }
+
     @Override
     public boolean removeComponent(@NotNull final Component component) {
         final boolean wasRemoved = super.removeComponent(component);
@@ -134,4 +173,25 @@ public class Scene extends Container {
             (pressedComponent = component).setPressed(true);
         }
     }
+
+    /**
+     * Adds the specified region to the damaged region.
+     */
+    private synchronized void addDamage(final int x, final int y, final int width, final int height) {
+        if (width <= 0 || height <= 0)
+            return;
+        if (damaged) {
+            damageX1 = Math.min(damageX1, x);
+            damageY1 = Math.min(damageY1, y);
+            damageX2 = Math.max(damageX2, x + width);
+            damageY2 = Math.max(damageY2, y + height);
+        }
+        else {
+            damageX1 = x;
+            damageY1 = y;
+            damageX2 = x + width;
+            damageY2 = y + height;
+            damaged = true;
+        }
+    }
 }
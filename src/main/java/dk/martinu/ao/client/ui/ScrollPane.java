@@ -85,7 +85,10 @@ public class ScrollPane extends Container {
     }
 
     public void setScrollValue(final int scrollValue) {
-        this.scrollValue = scrollValue;
+        if (this.scrollValue != scrollValue) {
+            this.scrollValue = scrollValue;
+            repaint();
+        }
     }
 
     public void setView(final ScrollView view) {
@@ -24,6 +24,7 @@ import java.awt.Shape;
 import java.awt.event.MouseWheelEvent;
 
 import dk.martinu.ao.client.targets.Target;
+import dk.martinu.ao.client.util.DisplayList;
 
 public class ScrollView extends Container {
 
@@ -64,6 +65,29 @@ public class ScrollView extends Container {
         g.setClip(clip);
     }
 
+    /**
+     * Records this view without reusing its display list, because the
+     * components within bounds depend on the scroll value of the pane, which
+     * does not damage this view.
+     */
+    @Override
+    public void record(@NotNull final DisplayList list) {
+        displayList = null;
+        super.record(list);
+    }
+
+    @Override
+    protected void recordDisplayList(@NotNull final DisplayList list) {
+        if (delegate != null)
+            delegate.record(list, this);
+        list.save();
+        list.clipRect(getX(), getY(), getWidth(), getHeight());
+        for (final Component c : components)
+            if (c.isVisible() && isWithinBounds(c))
+                c.record(list);
+        list.restore();
+    }
+
     @Override
     public void setParent(final Container parent) {
         super.setParent(parent);
@@ -83,10 +83,14 @@ public class TextField extends Component {
      */
     public void setText(final char[] text) {
         if (text == null || text.length == 0) {
-            if (this.text != EMPTY_TEXT)
+            if (this.text != EMPTY_TEXT) {
                 this.text = EMPTY_TEXT;
+                repaint();
+            }
         }
-        else if (!Arrays.equals(this.text, text))
+        else if (!Arrays.equals(this.text, text)) {
             this.text = text;
+            repaint();
+        }
     }
 }
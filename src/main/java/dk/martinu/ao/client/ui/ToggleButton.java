@@ -54,6 +54,9 @@ public class ToggleButton extends Button {
     }
 
     public void setToggled(final boolean b) {
-        toggled = b;
+        if (toggled != b) {
+            toggled = b;
+            repaint();
+        }
     }
 }
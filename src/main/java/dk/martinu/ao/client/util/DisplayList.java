@@ -0,0 +1,503 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.util;
+
+import org.jetbrains.annotations.*;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A reusable buffer of primitive draw commands, which are recorded once and
+ * replayed into a {@link Graphics2D} any number of times. Commands are stored
+ * as a flat stream of opcodes and integer arguments, with objects such as
+ * strings and images kept in a separate array. Both arrays are reused when
+ * the display list is {@link #clear() cleared}, so recording allocates
+ * nothing once the arrays have grown to size.
+ * <p>
+ * Display lists can {@link #call(DisplayList, int, int, int, int) call}
+ * other display lists, which allows a tree of components to keep the
+ * commands of subtrees that did not change since the previous frame, and to
+ * skip subtrees outside the clip when replaying.
+ * <p>
+ * Display lists are not thread-safe. A display list can be recorded on one
+ * thread and replayed on another, if it is published safely and not
+ * modified while it is replayed. Text is measured with the rendering hints
+ * of the quality profile set on the display list, or the display list it was
+ * created from, which should match the profile it is replayed with.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @see #replay(Graphics2D)
+ * @since 1.0
+ */
+public final class DisplayList {
+
+    // command opcodes
+    private static final int COLOR = 0;
+    private static final int FONT = 1;
+    private static final int FILL_RECT = 2;
+    private static final int DRAW_RECT = 3;
+    private static final int DRAW_STRING = 4;
+    private static final int DRAW_IMAGE = 5;
+    private static final int DRAW_IMAGE_REGION = 6;
+    private static final int TRANSLATE = 7;
+    private static final int TRANSFORM = 8;
+    private static final int CLIP_RECT = 9;
+    private static final int SAVE = 10;
+    private static final int RESTORE = 11;
+    private static final int CALL = 12;
+    private static final int PAINT = 13;
+
+    /**
+     * Context used to measure text, shared by display lists created from the
+     * same display list.
+     */
+    @NotNull
+    private final Metrics metrics;
+    /**
+     * Recorded commands; each opcode is followed by its integer arguments and
+     * the indices of its object arguments.
+     */
+    private int[] code = new int[128];
+    /**
+     * Object arguments of recorded commands.
+     */
+    private Object[] refs = new Object[32];
+    private int codeSize = 0;
+    private int refCount = 0;
+    /**
+     * Number of recorded commands.
+     */
+    private int size = 0;
+    /**
+     * Number of {@link #save()} commands without a matching
+     * {@link #restore()} command.
+     */
+    private int depth = 0;
+
+    /**
+     * Constructs a new, empty display list that measures text with the
+     * platform default rendering hints.
+     */
+    public DisplayList() {
+        metrics = new Metrics();
+    }
+
+    /**
+     * Constructs a new, empty display list that measures text with the same
+     * rendering hints as the specified display list.
+     *
+     * @param context the display list to share rendering hints with
+     * @throws NullPointerException if {@code context} is {@code null}
+     */
+    public DisplayList(@NotNull final DisplayList context) {
+        metrics = Objects.requireNonNull(context, "context is null").metrics;
+    }
+
+    /**
+     * Records a command that replays the specified display list, unless the
+     * specified bounds are entirely outside the clip of the graphics context.
+     * The called display list must not be modified while this display list
+     * is replayed.
+     *
+     * @param list the display list to call
+     * @throws NullPointerException     if {@code list} is {@code null}
+     * @throws IllegalArgumentException if {@code list} is this display list
+     */
+    public void call(@NotNull final DisplayList list, final int x, final int y, final int width,
+            final int height) {
+        Objects.requireNonNull(list, "list is null");
+        if (list == this)
+            throw new IllegalArgumentException("list cannot call itself");
+        op(CALL, list, 4);
+        arg(x, y, width, height);
+    }
+
+    /**
+     * Removes all commands from this display list, retaining its capacity.
+     */
+    public void clear() {
+        Arrays.fill(refs, 0, refCount, null);
+        codeSize = refCount = size = depth = 0;
+    }
+
+    /**
+     * Records a command that intersects the clip with the specified
+     * rectangle.
+     *
+     * @see Graphics2D#clipRect(int, int, int, int)
+     */
+    public void clipRect(final int x, final int y, final int width, final int height) {
+        op(CLIP_RECT, 4);
+        arg(x, y, width, height);
+    }
+
+    /**
+     * Records a command that draws the specified image.
+     *
+     * @throws NullPointerException if {@code image} is {@code null}
+     * @see Graphics2D#drawImage(Image, int, int, java.awt.image.ImageObserver)
+     */
+    public void drawImage(@NotNull final Image image, final int x, final int y) {
+        op(DRAW_IMAGE, Objects.requireNonNull(image, "image is null"), 2);
+        arg(x, y);
+    }
+
+    /**
+     * Records a command that draws a region of the specified image, e.g. a
+     * sprite in an atlas, without scaling it.
+     *
+     * @param image  the image
+     * @param x      the x-coordinate to draw the region at
+     * @param y      the y-coordinate to draw the region at
+     * @param sx     the x-coordinate of the region in the image
+     * @param sy     the y-coordinate of the region in the image
+     * @param width  the width of the region
+     * @param height the height of the region
+     * @throws NullPointerException if {@code image} is {@code null}
+     */
+    public void drawImage(@NotNull final Image image, final int x, final int y, final int sx, final int sy,
+            final int width, final int height) {
+        op(DRAW_IMAGE_REGION, Objects.requireNonNull(image, "image is null"), 6);
+        arg(x, y, sx, sy);
+        arg(width, height);
+    }
+
+    /**
+     * Records a command that draws the outline of the specified rectangle.
+     *
+     * @see Graphics2D#drawRect(int, int, int, int)
+     */
+    public void drawRect(final int x, final int y, final int width, final int height) {
+        op(DRAW_RECT, 4);
+        arg(x, y, width, height);
+    }
+
+    /**
+     * Records a command that draws the specified string with the current
+     * font and color.
+     *
+     * @throws NullPointerException if {@code str} is {@code null}
+     * @see Graphics2D#drawString(String, int, int)
+     */
+    public void drawString(@NotNull final String str, final int x, final int y) {
+        op(DRAW_STRING, Objects.requireNonNull(str, "str is null"), 2);
+        arg(x, y);
+    }
+
+    /**
+     * Records a command that fills the specified rectangle with the current
+     * color.
+     *
+     * @see Graphics2D#fillRect(int, int, int, int)
+     */
+    public void fillRect(final int x, final int y, final int width, final int height) {
+        op(FILL_RECT, 4);
+        arg(x, y, width, height);
+    }
+
+    /**
+     * Returns the metrics of the specified font, measured with the rendering
+     * hints of this display list.
+     *
+     * @param font the font
+     * @return the font metrics
+     * @throws NullPointerException if {@code font} is {@code null}
+     * @see #setQualityProfile(QualityProfile)
+     */
+    @NotNull
+    public FontMetrics getFontMetrics(@NotNull final Font font) {
+        return metrics.get(Objects.requireNonNull(font, "font is null"));
+    }
+
+    /**
+     * Returns the quality profile text is measured with, or {@code null} if
+     * the platform default rendering hints are used.
+     */
+    @Contract(pure = true)
+    @Nullable
+    public QualityProfile getQualityProfile() {
+        return metrics.profile;
+    }
+
+    @Contract(pure = true)
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Records a command that calls the specified painter with the graphics
+     * context when this display list is replayed. This is intended for code
+     * that only paints into a graphics context; the painter is called on the
+     * thread that replays the display list, with whatever state it has at
+     * that time.
+     *
+     * @param painter the painter to call
+     * @throws NullPointerException if {@code painter} is {@code null}
+     */
+    public void paint(@NotNull final Consumer<Graphics2D> painter) {
+        op(PAINT, Objects.requireNonNull(painter, "painter is null"), 0);
+    }
+
+    /**
+     * Replays all commands of this display list into the specified graphics
+     * context. The transform, clip, color and font of the graphics context
+     * are changed by the commands, unless they are enclosed in
+     * {@link #save()} and {@link #restore()} commands.
+     *
+     * @param g the graphics context
+     * @throws NullPointerException  if {@code g} is {@code null}
+     * @throws IllegalStateException if a save command was not restored
+     */
+    public void replay(@NotNull final Graphics2D g) {
+        Objects.requireNonNull(g, "g is null");
+        if (depth != 0)
+            throw new IllegalStateException("save command was not restored");
+        replay(g, 0);
+    }
+
+    /**
+     * Records a command that restores the transform, clip, color and font of
+     * the matching {@link #save()} command.
+     *
+     * @throws IllegalStateException if there is no matching save command
+     */
+    public void restore() {
+        if (depth == 0)
+            throw new IllegalStateException("restore without save");
+        depth--;
+        op(RESTORE, 0);
+    }
+
+    /**
+     * Records a command that saves the transform, clip, color and font, until
+     * the matching {@link #restore()} command.
+     *
+     * @see Graphics2D#create()
+     */
+    public void save() {
+        depth++;
+        op(SAVE, 0);
+    }
+
+    /**
+     * Records a command that sets the current color.
+     *
+     * @throws NullPointerException if {@code color} is {@code null}
+     * @see Graphics2D#setColor(Color)
+     */
+    public void setColor(@NotNull final Color color) {
+        op(COLOR, Objects.requireNonNull(color, "color is null"), 0);
+    }
+
+    /**
+     * Records a command that sets the current font.
+     *
+     * @throws NullPointerException if {@code font} is {@code null}
+     * @see Graphics2D#setFont(Font)
+     */
+    public void setFont(@NotNull final Font font) {
+        op(FONT, Objects.requireNonNull(font, "font is null"), 0);
+    }
+
+    /**
+     * Sets the quality profile whose rendering hints text is measured with.
+     * This affects all display lists that share rendering hints with this
+     * display list, but not text that has already been recorded.
+     *
+     * @param profile the quality profile
+     * @throws NullPointerException if {@code profile} is {@code null}
+     */
+    public void setQualityProfile(@NotNull final QualityProfile profile) {
+        metrics.setProfile(Objects.requireNonNull(profile, "profile is null"));
+    }
+
+    /**
+     * Returns the number of commands in this display list, not including the
+     * commands of called display lists.
+     */
+    @Contract(pure = true)
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Records a command that concatenates the specified transform with the
+     * current transform. The transform is copied.
+     *
+     * @throws NullPointerException if {@code transform} is {@code null}
+     * @see Graphics2D#transform(AffineTransform)
+     */
+    public void transform(@NotNull final AffineTransform transform) {
+        op(TRANSFORM, new AffineTransform(Objects.requireNonNull(transform, "transform is null")), 0);
+    }
+
+    /**
+     * Records a command that translates the origin.
+     *
+     * @see Graphics2D#translate(int, int)
+     */
+    public void translate(final int x, final int y) {
+        if (x != 0 || y != 0) {
+            op(TRANSLATE, 2);
+            arg(x, y);
+        }
+    }
+
+    /**
+     * Adds the specified opcode, and ensures there is room for the specified
+     * number of integer arguments after it.
+     */
+    private void op(final int op, final int argCount) {
+        if (codeSize + 2 + argCount > code.length)
+            code = Arrays.copyOf(code, Math.max(code.length * 2, codeSize + 2 + argCount));
+        code[codeSize++] = op;
+        size++;
+    }
+
+    /**
+     * Adds the specified opcode and object argument, and ensures there is
+     * room for the specified number of integer arguments after it.
+     */
+    private void op(final int op, @NotNull final Object ref, final int argCount) {
+        op(op, argCount);
+        if (refCount == refs.length)
+            refs = Arrays.copyOf(refs, refCount * 2);
+        code[codeSize++] = refCount;
+        refs[refCount++] = ref;
+    }
+
+    /**
+     * Adds the specified integer arguments. Room must have been ensured.
+     */
+    private void arg(final int a, final int b) {
+        code[codeSize++] = a;
+        code[codeSize++] = b;
+    }
+
+    /**
+     * Adds the specified integer arguments. Room must have been ensured.
+     */
+    private void arg(final int a, final int b, final int c, final int d) {
+        code[codeSize++] = a;
+        code[codeSize++] = b;
+        code[codeSize++] = c;
+        code[codeSize++] = d;
+    }
+
+    /**
+     * Replays commands, starting at the specified index, until the end of
+     * this display list or a restore command.
+     *
+     * @return the index after the last replayed command
+     */
+    @SuppressWarnings("unchecked")
+    private int replay(@NotNull final Graphics2D g, int pc) {
+        final int[] code = this.code;
+        while (pc < codeSize)
+            switch (code[pc++]) {
+                case COLOR -> g.setColor((Color) refs[code[pc++]]);
+                case FONT -> g.setFont((Font) refs[code[pc++]]);
+                case FILL_RECT -> {
+                    g.fillRect(code[pc], code[pc + 1], code[pc + 2], code[pc + 3]);
+                    pc += 4;
+                }
+                case DRAW_RECT -> {
+                    g.drawRect(code[pc], code[pc + 1], code[pc + 2], code[pc + 3]);
+                    pc += 4;
+                }
+                case DRAW_STRING -> {
+                    g.drawString((String) refs[code[pc]], code[pc + 1], code[pc + 2]);
+                    pc += 3;
+                }
+                case DRAW_IMAGE -> {
+                    g.drawImage((Image) refs[code[pc]], code[pc + 1], code[pc + 2], null);
+                    pc += 3;
+                }
+                case DRAW_IMAGE_REGION -> {
+                    final int x = code[pc + 1], y = code[pc + 2], sx = code[pc + 3], sy = code[pc + 4];
+                    final int width = code[pc + 5], height = code[pc + 6];
+                    g.drawImage((Image) refs[code[pc]], x, y, x + width, y + height, sx, sy, sx + width,
+                            sy + height, null);
+                    pc += 7;
+                }
+                case TRANSLATE -> {
+                    g.translate(code[pc], code[pc + 1]);
+                    pc += 2;
+                }
+                case TRANSFORM -> g.transform((AffineTransform) refs[code[pc++]]);
+                case CLIP_RECT -> {
+                    g.clipRect(code[pc], code[pc + 1], code[pc + 2], code[pc + 3]);
+                    pc += 4;
+                }
+                case SAVE -> {
+                    final Graphics2D saved = (Graphics2D) g.create();
+                    try {
+                        pc = replay(saved, pc);
+                    }
+                    finally {
+                        saved.dispose();
+                    }
+                }
+                case RESTORE -> {
+                    return pc;
+                }
+                case CALL -> {
+                    if (g.hitClip(code[pc + 1], code[pc + 2], code[pc + 3], code[pc + 4]))
+                        ((DisplayList) refs[code[pc]]).replay(g);
+                    pc += 5;
+                }
+                case PAINT -> ((Consumer<Graphics2D>) refs[code[pc++]]).accept(g);
+                default -> throw new IllegalStateException("invalid opcode " + code[pc - 1]);
+            }
+        return pc;
+    }
+
+    /**
+     * Graphics context used to measure text.
+     */
+    private static final class Metrics {
+
+        @Nullable
+        Graphics2D g = null;
+        @Nullable
+        QualityProfile profile = null;
+
+        @NotNull
+        FontMetrics get(@NotNull final Font font) {
+            if (g == null) {
+                g = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+                if (profile != null)
+                    profile.apply(g);
+            }
+            return g.getFontMetrics(font);
+        }
+
+        void setProfile(@NotNull final QualityProfile profile) {
+            if (this.profile != profile) {
+                this.profile = profile;
+                if (g != null)
+                    profile.apply(g);
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.util;
+
+import org.jetbrains.annotations.Contract;
+
+import java.util.Arrays;
+
+/**
+ * Log-linear histogram of non-negative {@code long} values, such as durations
+ * in nanoseconds. Values are counted in buckets where each power of two is
+ * divided into {@value #SUB_BUCKETS} linear sub-buckets, so reported values
+ * are within about 3% of recorded values. Values less than
+ * {@value #SUB_BUCKETS} are counted exactly.
+ * <p>
+ * Recording a value never allocates and is constant time, and the memory
+ * used by a histogram is fixed at construction.
+ * <p>
+ * <b>NOTE:</b> this implementation is not threadsafe. Values must be
+ * recorded and read by a single thread, or the histogram must be published
+ * to readers by other means.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @since 1.0
+ */
+public final class Histogram {
+
+    /**
+     * Number of bits of a value used to select a sub-bucket.
+     */
+    private static final int SUB_BITS = 5;
+    /**
+     * Number of linear sub-buckets for each power of two.
+     */
+    public static final int SUB_BUCKETS = 1 << SUB_BITS;
+    /**
+     * Total number of buckets, covering all non-negative {@code long} values.
+     */
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+    /**
+     * Returns the index of the bucket that counts the specified value.
+     */
+    @Contract(pure = true)
+    static int indexOf(final long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+        final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    /**
+     * Returns the highest value that is counted by the bucket at the
+     * specified index.
+     */
+    @Contract(pure = true)
+    static long highestValueOf(final int index) {
+        if (index < SUB_BUCKETS)
+            return index;
+        final int shift = index / SUB_BUCKETS - 1;
+        final long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1L;
+    }
+
+    /**
+     * Bucket counts.
+     */
+    private final long[] counts = new long[BUCKETS];
+    /**
+     * Number of recorded values.
+     */
+    private long count = 0L;
+    /**
+     * Largest recorded value.
+     */
+    private long max = 0L;
+    /**
+     * Index of the highest non-empty bucket, or {@code -1}.
+     */
+    private int maxIndex = -1;
+
+    /**
+     * Returns the number of recorded values.
+     */
+    @Contract(pure = true)
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the largest recorded value, or {@code 0} if no values have been
+     * recorded.
+     */
+    @Contract(pure = true)
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns a value that the specified percentage of recorded values are
+     * less than or equal to, or {@code 0} if no values have been recorded.
+     * The returned value is never greater than {@link #getMax()}.
+     *
+     * @param percentile the percentile, between {@code 0.0} and
+     *                   {@code 100.0}
+     * @return the value at the percentile
+     * @throws IllegalArgumentException if {@code percentile} is not between
+     *                                  {@code 0.0} and {@code 100.0}
+     */
+    @Contract(pure = true)
+    public long getValueAtPercentile(final double percentile) {
+        if (!(percentile >= 0.0 && percentile <= 100.0))
+            throw new IllegalArgumentException("percentile is not between 0 and 100 {" + percentile + "}");
+        if (count == 0L)
+            return 0L;
+        final long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * count));
+        long n = 0L;
+        for (int i = 0; i <= maxIndex; i++) {
+            n += counts[i];
+            if (n >= rank)
+                return Math.min(highestValueOf(i), max);
+        }
+        return max;
+    }
+
+    /**
+     * Records the specified value. Negative values are recorded as
+     * {@code 0}.
+     *
+     * @param value the value to record
+     */
+    public void record(final long value) {
+        final long v = Math.max(value, 0L);
+        final int index = indexOf(v);
+        counts[index]++;
+        count++;
+        if (v > max)
+            max = v;
+        if (index > maxIndex)
+            maxIndex = index;
+    }
+
+    /**
+     * Removes all recorded values.
+     */
+    public void reset() {
+        if (maxIndex != -1)
+            Arrays.fill(counts, 0, maxIndex + 1, 0L);
+        count = 0L;
+        max = 0L;
+        maxIndex = -1;
+    }
+}
@@ -56,6 +56,14 @@ public final class Log {
         thread.start();
     }
 
+    /**
+     * Returns the number of log records that have been added, but not yet
+     * posted.
+     */
+    public static int getBacklog() {
+        return records.size();
+    }
+
     /**
      * Logs a debug message.
      *
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.util;
+
+import org.jetbrains.annotations.*;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Rendering quality profiles. Each profile has a prebuilt set of
+ * {@link RenderingHints} that is applied to a graphics context with a single
+ * call to {@link Graphics2D#setRenderingHints(java.util.Map)}. The hints
+ * include the profile itself as the value of {@link #KEY}, so targets and UI
+ * delegates can query the active profile of a graphics context with
+ * {@link #of(Graphics2D)} and skip expensive work.
+ * <p>
+ * Profiles are ordered from lowest to highest quality, and besides rendering
+ * hints they determine whether render states are interpolated between logic
+ * ticks and whether optional effects are painted.
+ *
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @since 1.0
+ */
+public enum QualityProfile {
+
+    /**
+     * Profile that favors speed, without antialiasing and with
+     * nearest-neighbor interpolation. Render states are not interpolated and
+     * effects are disabled.
+     */
+    LATENCY(false, false, RenderingHints.VALUE_RENDER_SPEED, RenderingHints.VALUE_COLOR_RENDER_SPEED,
+            RenderingHints.VALUE_ANTIALIAS_OFF, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF,
+            RenderingHints.VALUE_FRACTIONALMETRICS_OFF, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR),
+    /**
+     * Profile with antialiasing and bilinear interpolation, but otherwise
+     * platform defaults. Render states are interpolated, but effects are
+     * disabled.
+     */
+    BALANCED(true, false, RenderingHints.VALUE_RENDER_DEFAULT, RenderingHints.VALUE_COLOR_RENDER_DEFAULT,
+            RenderingHints.VALUE_ANTIALIAS_ON, RenderingHints.VALUE_TEXT_ANTIALIAS_ON,
+            RenderingHints.VALUE_FRACTIONALMETRICS_OFF, RenderingHints.VALUE_INTERPOLATION_BILINEAR),
+    /**
+     * Profile that favors quality, with antialiasing, fractional metrics and
+     * bicubic interpolation. Render states are interpolated and effects are
+     * enabled.
+     */
+    QUALITY(true, true, RenderingHints.VALUE_RENDER_QUALITY, RenderingHints.VALUE_COLOR_RENDER_QUALITY,
+            RenderingHints.VALUE_ANTIALIAS_ON, RenderingHints.VALUE_TEXT_ANTIALIAS_ON,
+            RenderingHints.VALUE_FRACTIONALMETRICS_ON, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+
+    /**
+     * Rendering hint key of the active profile of a graphics context.
+     *
+     * @see #of(Graphics2D)
+     */
+    public static final RenderingHints.Key KEY = ProfileKey.INSTANCE;
+
+    /**
+     * Returns the profile with the specified name (ignoring case).
+     *
+     * @param name the name of the profile, e.g. {@code "balanced"}
+     * @return the profile
+     * @throws NullPointerException     if {@code name} is {@code null}
+     * @throws IllegalArgumentException if there is no profile with the
+     *                                  specified name
+     */
+    @Contract(pure = true)
+    @NotNull
+    public static QualityProfile forName(@NotNull final String name) {
+        Objects.requireNonNull(name, "name is null");
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Returns the active profile of the specified graphics context, or
+     * {@link #QUALITY} if no profile has been applied.
+     *
+     * @param g the graphics context
+     * @return the active profile
+     * @throws NullPointerException if {@code g} is {@code null}
+     */
+    @Contract(pure = true)
+    @NotNull
+    public static QualityProfile of(@NotNull final Graphics2D g) {
+        Objects.requireNonNull(g, "g is null");
+        return g.getRenderingHint(KEY) instanceof QualityProfile profile ? profile : QUALITY;
+    }
+
+    /**
+     * The prebuilt hints of this profile.
+     */
+    @NotNull
+    private final RenderingHints hints;
+    /**
+     * {@code true} if render states are interpolated.
+     */
+    private final boolean interpolated;
+    /**
+     * {@code true} if optional effects are painted.
+     */
+    private final boolean effects;
+
+    QualityProfile(final boolean interpolated, final boolean effects, @NotNull final Object rendering,
+            @NotNull final Object colorRendering, @NotNull final Object antialiasing,
+            @NotNull final Object textAntialiasing, @NotNull final Object fractionalMetrics,
+            @NotNull final Object interpolation) {
+        this.interpolated = interpolated;
+        this.effects = effects;
+        hints = new RenderingHints(RenderingHints.KEY_RENDERING, rendering);
+        hints.put(RenderingHints.KEY_COLOR_RENDERING, colorRendering);
+        hints.put(RenderingHints.KEY_ANTIALIASING, antialiasing);
+        hints.put(RenderingHints.KEY_TEXT_ANTIALIASING, textAntialiasing);
+        hints.put(RenderingHints.KEY_FRACTIONALMETRICS, fractionalMetrics);
+        hints.put(RenderingHints.KEY_INTERPOLATION, interpolation);
+        // enum constructors cannot refer to KEY
+        hints.put(ProfileKey.INSTANCE, this);
+    }
+
+    /**
+     * Replaces the rendering hints of the specified graphics context with the
+     * hints of this profile.
+     *
+     * @param g the graphics context
+     */
+    public void apply(@NotNull final Graphics2D g) {
+        g.setRenderingHints(hints);
+    }
+
+    /**
+     * Returns the profile of the next higher quality, or {@code null} if this
+     * is the highest quality profile.
+     */
+    @Contract(pure = true)
+    @Nullable
+    public QualityProfile getHigher() {
+        final QualityProfile[] values = values();
+        return ordinal() < values.length - 1 ? values[ordinal() + 1] : null;
+    }
+
+    /**
+     * Returns the profile of the next lower quality, or {@code null} if this
+     * is the lowest quality profile.
+     */
+    @Contract(pure = true)
+    @Nullable
+    public QualityProfile getLower() {
+        return ordinal() > 0 ? values()[ordinal() - 1] : null;
+    }
+
+    /**
+     * Returns the name of this profile in lower case, as used in
+     * configuration files.
+     */
+    @Contract(pure = true)
+    @NotNull
+    public String getName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns {@code true} if optional effects should be painted, such as
+     * shadows, particles and animated backgrounds.
+     */
+    @Contract(pure = true)
+    public boolean isEffectsEnabled() {
+        return effects;
+    }
+
+    /**
+     * Returns {@code true} if render states should be interpolated between
+     * logic ticks. If {@code false}, the most recent state is painted as is.
+     */
+    @Contract(pure = true)
+    public boolean isInterpolated() {
+        return interpolated;
+    }
+
+    /**
+     * Returns a copy of the hints of this profile.
+     */
+    @Contract(value = "-> new", pure = true)
+    @NotNull
+    public RenderingHints getRenderingHints() {
+        return (RenderingHints) hints.clone();
+    }
+
+    /**
+     * Rendering hint key implementation of {@link #KEY}.
+     */
+    private static final class ProfileKey extends RenderingHints.Key {
+
+        static final ProfileKey INSTANCE = new ProfileKey();
+
+        private ProfileKey() {
+            super(0);
+        }
+
+        @Contract(pure = true)
+        @Override
+        public boolean isCompatibleValue(final Object val) {
+            return val instanceof QualityProfile;
+        }
+
+        @Contract(pure = true)
+        @Override
+        public String toString() {
+            return "Quality profile key";
+        }
+    }
+}
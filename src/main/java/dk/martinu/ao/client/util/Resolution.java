@@ -16,6 +16,7 @@
  */
 package dk.martinu.ao.client.util;
 
+import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
 import java.awt.Container;
@@ -37,6 +38,12 @@ public final class Resolution {
     public final int centerY;
     public final int offsetX;
     public final int offsetY;
+    /**
+     * Scale from this resolution to the container it is painted in. The scale
+     * is {@code 1} unless a fixed logical resolution is scaled to fit the
+     * container.
+     */
+    public final float scale;
 
     /**
      * Creates a new {@code Resolution} object from the specified container.
@@ -67,5 +74,97 @@ public final class Resolution {
         }
         centerX = width >>> 2;
         centerY = height >>> 2;
+        scale = 1.0F;
+    }
+
+    /**
+     * Creates a new {@code Resolution} object with the specified logical width
+     * and height, scaled to fit inside the specified container while keeping
+     * its aspect ratio. {@code offsetX} and {@code offsetY} are set to the
+     * left and top inset of the container, if any, plus the offset that
+     * centers the scaled resolution in the container.
+     *
+     * @param container the container to fit this resolution inside
+     * @param width     the logical width
+     * @param height    the logical height
+     * @throws NullPointerException     if {@code container} is {@code null}
+     * @throws IllegalArgumentException if {@code width} or {@code height} is
+     *                                  less than or equal to {@code 0}
+     */
+    public Resolution(@NotNull final Container container, final int width, final int height) {
+        Objects.requireNonNull(container, "container is null");
+        if (width <= 0 || height <= 0)
+            throw new IllegalArgumentException("width and height must be greater than 0");
+        final Insets insets = container.getInsets();
+        final int left = insets != null ? insets.left : 0;
+        final int top = insets != null ? insets.top : 0;
+        final int availableWidth = container.getWidth() - (insets != null ? insets.left + insets.right : 0);
+        final int availableHeight = container.getHeight() - (insets != null ? insets.top + insets.bottom : 0);
+        this.width = width;
+        this.height = height;
+        scale = Math.max(Math.min(availableWidth / (float) width, availableHeight / (float) height), Float.MIN_NORMAL);
+        offsetX = left + Math.max(0, Math.round((availableWidth - width * scale) / 2.0F));
+        offsetY = top + Math.max(0, Math.round((availableHeight - height * scale) / 2.0F));
+        centerX = width >>> 2;
+        centerY = height >>> 2;
+    }
+
+    /**
+     * Creates a new {@code Resolution} object with the specified width and
+     * height and no offset, e.g. for painting into an offscreen image.
+     *
+     * @param width  the width
+     * @param height the height
+     * @throws IllegalArgumentException if {@code width} or {@code height} is
+     *                                  less than or equal to {@code 0}
+     */
+    public Resolution(final int width, final int height) {
+        if (width <= 0 || height <= 0)
+            throw new IllegalArgumentException("width and height must be greater than 0");
+        this.width = width;
+        this.height = height;
+        offsetX = offsetY = 0;
+        centerX = width >>> 2;
+        centerY = height >>> 2;
+        scale = 1.0F;
+    }
+
+    /**
+     * Returns {@code true} if {@code obj} is a resolution with the same size,
+     * offset and scale as this resolution.
+     */
+    @Contract(value = "null -> false", pure = true)
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this)
+            return true;
+        if (obj instanceof Resolution r)
+            return width == r.width && height == r.height && offsetX == r.offsetX && offsetY == r.offsetY
+                    && scale == r.scale;
+        return false;
+    }
+
+    @Contract(pure = true)
+    @Override
+    public int hashCode() {
+        return Objects.hash(width, height, offsetX, offsetY, scale);
+    }
+
+    /**
+     * Translates the specified x coordinate in the container this resolution
+     * was created from to this resolution's coordinate space.
+     */
+    @Contract(pure = true)
+    public int translateX(final int x) {
+        return scale == 1.0F ? x - offsetX : (int) Math.floor((x - offsetX) / scale);
+    }
+
+    /**
+     * Translates the specified y coordinate in the container this resolution
+     * was created from to this resolution's coordinate space.
+     */
+    @Contract(pure = true)
+    public int translateY(final int y) {
+        return scale == 1.0F ? y - offsetY : (int) Math.floor((y - offsetY) / scale);
     }
 }
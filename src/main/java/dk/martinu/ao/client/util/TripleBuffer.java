@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2023, Adam Martinu. All rights reserved. Altering or
+ * removing copyright notices or this file header is not allowed.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package dk.martinu.ao.client.util;
+
+import org.jetbrains.annotations.*;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free triple buffer for handing values from a single writer thread to
+ * a single reader thread. The writer fills its {@link #getWriteSlot() slot}
+ * and {@link #publish() publishes} it, and the reader
+ * {@link #acquire() acquires} the most recently published slot. Neither side
+ * ever blocks or waits for the other; if the writer publishes faster than the
+ * reader acquires, intermediate values are skipped.
+ * <p>
+ * Slots are allocated once and reused, so values should be mutable
+ * containers that the writer overwrites.
+ * <p>
+ * <b>NOTE:</b> this implementation is only threadsafe for exactly one writer
+ * thread and one reader thread.
+ *
+ * @param <T> runtime type of slot values
+ * @author Adam Martinu
+ * @version 1.0, 2026-10-16
+ * @since 1.0
+ */
+public final class TripleBuffer<T> {
+
+    /**
+     * Mask to get a slot index from the shared index.
+     */
+    private static final int INDEX_MASK = 3;
+    /**
+     * Flag set in the shared index when the shared slot holds a value that
+     * has not been acquired by the reader.
+     */
+    private static final int FRESH = 4;
+
+    /**
+     * The three slots.
+     */
+    @NotNull
+    private final Object[] slots;
+    /**
+     * Index of the shared (middle) slot and the {@link #FRESH} flag.
+     */
+    private final AtomicInteger shared = new AtomicInteger(2);
+    /**
+     * Index of the slot owned by the writer.
+     */
+    private int write = 0;
+    /**
+     * Index of the slot owned by the reader.
+     */
+    private int read = 1;
+    /**
+     * {@code true} if the reader has acquired at least one published slot.
+     * Only accessed by the reader.
+     */
+    private boolean acquired = false;
+
+    /**
+     * Constructs a new triple buffer with slot values created by the
+     * specified producer.
+     *
+     * @param producer producer of the three slot values
+     * @throws NullPointerException if {@code producer} is {@code null}
+     */
+    public TripleBuffer(@NotNull final Producer<T> producer) {
+        Objects.requireNonNull(producer, "producer is null");
+        slots = new Object[] {producer.get(), producer.get(), producer.get()};
+    }
+
+    /**
+     * Returns the most recently published slot value. The value is owned by
+     * the reader until the next call to this method. If no value has been
+     * published yet, then {@code null} is returned.
+     * <p>
+     * <b>NOTE:</b> must only be called by the reader thread.
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public T acquire() {
+        if ((shared.get() & FRESH) != 0) {
+            read = shared.getAndSet(read) & INDEX_MASK;
+            acquired = true;
+        }
+        return acquired ? (T) slots[read] : null;
+    }
+
+    /**
+     * Returns the slot value owned by the writer. The value must not be
+     * modified after calling {@link #publish()} until this method is called
+     * again.
+     * <p>
+     * <b>NOTE:</b> must only be called by the writer thread.
+     */
+    @Contract(pure = true)
+    @SuppressWarnings("unchecked")
+    @NotNull
+    public T getWriteSlot() {
+        return (T) slots[write];
+    }
+
+    /**
+     * Publishes the writer's slot value, making it available to the reader,
+     * and hands a new slot to the writer.
+     * <p>
+     * <b>NOTE:</b> must only be called by the writer thread.
+     */
+    public void publish() {
+        write = shared.getAndSet(write | FRESH) & INDEX_MASK;
+    }
+}